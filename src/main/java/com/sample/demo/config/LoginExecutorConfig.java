@@ -0,0 +1,39 @@
+package com.sample.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class LoginExecutorConfig {
+
+    /**
+     * Dedicated pool for BCrypt password checks, so a login burst is capped at a fixed
+     * number of cores and a bounded backlog instead of occupying every request thread.
+     * Logins beyond the backlog are rejected immediately.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService loginExecutor(MeterRegistry meterRegistry,
+                                         @Value("${auth.login.threads:0}") int threads,
+                                         @Value("${auth.login.queue-capacity:100}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+    }
+}
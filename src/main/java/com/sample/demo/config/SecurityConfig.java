@@ -35,6 +35,7 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                .requestMatchers("/actuator/metrics/**", "/actuator/schedulerlocks/**").hasRole("SYSTEM_ADMIN")
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers(HttpMethod.GET, "/api/items/**").authenticated()
                 .requestMatchers("/api/admin/**").hasRole("SYSTEM_ADMIN")
@@ -4,19 +4,20 @@ import com.sample.demo.dto.auth.ForgotPasswordRequest;
 import com.sample.demo.dto.auth.JwtResponse;
 import com.sample.demo.dto.auth.LoginRequest;
 import com.sample.demo.dto.auth.ResetPasswordRequest;
+import com.sample.demo.exception.TooManyRequestsException;
+import com.sample.demo.exception.UnauthorizedException;
 import com.sample.demo.model.entity.User;
-import com.sample.demo.repository.UserRepository;
-import com.sample.demo.security.JwtUtils;
+import com.sample.demo.service.LoginService;
 import com.sample.demo.service.PasswordResetService;
+import com.sample.demo.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -28,36 +29,30 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Authentication", description = "Authentication endpoints")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
-    private final UserRepository userRepository;
-    private final JwtUtils jwtUtils;
+    private final LoginService loginService;
+    private final RefreshTokenService refreshTokenService;
     private final PasswordResetService passwordResetService;
 
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticate user and return JWT token")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
         try {
-            Authentication authentication = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword())
-            );
+            Authentication authentication = loginService.authenticate(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword(),
+                    request.getRemoteAddr());
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
             User userDetails = (User) authentication.getPrincipal();
-            String jwt = jwtUtils.generateToken(userDetails);
-            String refreshToken = jwtUtils.generateRefreshToken(userDetails);
+            RefreshTokenService.TokenPair tokens = refreshTokenService.startSession(userDetails);
 
             log.info("Successful login: user='{}', role={}", userDetails.getUsername(), userDetails.getRole());
 
-            return ResponseEntity.ok(JwtResponse.builder()
-                    .token(jwt)
-                    .refreshToken(refreshToken)
-                    .id(userDetails.getId())
-                    .username(userDetails.getUsername())
-                    .email(userDetails.getEmail())
-                    .role(userDetails.getRole())
-                    .build());
+            return ResponseEntity.ok(toJwtResponse(tokens));
+        } catch (TooManyRequestsException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(e.getMessage());
         } catch (Exception e) {
             log.warn("Failed login attempt: username='{}'", loginRequest.getUsername());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -66,29 +61,24 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    @Operation(summary = "Refresh token", description = "Get a new access token using refresh token")
+    @Operation(summary = "Refresh token", description = "Exchange a refresh token for a new access token and a new refresh token. Each refresh token can be used once")
     public ResponseEntity<?> refreshToken(@RequestHeader("Refresh-Token") String refreshToken) {
         try {
-            if (jwtUtils.validateToken(refreshToken)) {
-                String username = jwtUtils.extractUsername(refreshToken);
-                User user = userRepository.findByUsername(username)
-                        .orElseThrow(() -> new RuntimeException("User not found"));
-
-                String newAccessToken = jwtUtils.generateToken(user);
+            return ResponseEntity.ok(toJwtResponse(refreshTokenService.rotate(refreshToken)));
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
+        }
+    }
 
-                return ResponseEntity.ok(JwtResponse.builder()
-                        .token(newAccessToken)
-                        .refreshToken(refreshToken)
-                        .id(user.getId())
-                        .username(user.getUsername())
-                        .email(user.getEmail())
-                        .role(user.getRole())
-                        .build());
-            }
-        } catch (Exception e) {
-            // Invalid refresh token
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the session of the given refresh token, including access tokens issued in it")
+    public ResponseEntity<?> logout(@RequestHeader("Refresh-Token") String refreshToken) {
+        try {
+            refreshTokenService.logout(refreshToken);
+            return ResponseEntity.ok("Logged out successfully");
+        } catch (UnauthorizedException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
         }
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token");
     }
 
     @GetMapping("/me")
@@ -136,4 +126,16 @@ public class AuthController {
                     .body("Error resetting password: " + e.getMessage());
         }
     }
+
+    private JwtResponse toJwtResponse(RefreshTokenService.TokenPair tokens) {
+        User user = tokens.user();
+        return JwtResponse.builder()
+                .token(tokens.accessToken())
+                .refreshToken(tokens.refreshToken())
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .build();
+    }
 }
\ No newline at end of file
@@ -1,25 +1,44 @@
 package com.sample.demo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sample.demo.dto.common.ApiResponse;
+import com.sample.demo.dto.common.CursorPage;
+import com.sample.demo.dto.item.ItemImportSummary;
 import com.sample.demo.dto.item.ItemRequest;
 import com.sample.demo.dto.item.ItemResponse;
+import com.sample.demo.dto.item.ItemSearchRequest;
 import com.sample.demo.dto.item.PatchItemRequest;
+import com.sample.demo.dto.item.StockLevelResponse;
+import com.sample.demo.service.ItemImportService;
 import com.sample.demo.service.ItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @RestController
 @RequestMapping("/api")
@@ -29,6 +48,11 @@ import org.springframework.web.bind.annotation.*;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
 
     @GetMapping("/items")
     @Operation(summary = "Get all items", description = "Get all items with pagination (All authenticated users can view)")
@@ -45,6 +69,19 @@ public class ItemController {
         return ResponseEntity.ok(ApiResponse.success("Items fetched successfully", items));
     }
 
+    @GetMapping("/items/search")
+    @Operation(summary = "Search items", description = "Filter items by name or SKU (prefix by default, match=CONTAINS for substrings) "
+            + "and by inclusive price, volume and quantity ranges. Keyset-paginated by id; pass nextCursor from the previous page "
+            + "as cursor (All authenticated users can view)")
+    public ResponseEntity<ApiResponse<CursorPage<ItemResponse>>> searchItems(
+            @ParameterObject ItemSearchRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<ItemResponse> items = itemService.searchItems(request, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Items fetched successfully", items));
+    }
+
     @GetMapping("/items/{id}")
     @Operation(summary = "Get item by ID", description = "Get a specific item by its ID (All authenticated users can view)")
     public ResponseEntity<ApiResponse<ItemResponse>> getItemById(@PathVariable Long id) {
@@ -60,6 +97,49 @@ public class ItemController {
         return new ResponseEntity<>(ApiResponse.success("Item created successfully", item), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/manager/items/import", consumes = {NDJSON, CSV}, produces = NDJSON)
+    @Operation(summary = "Import item catalog", description = "Create or update items by SKU from NDJSON (one item per line, fields as for create) "
+            + "or CSV (sku,itemName,quantity,unitPrice,packageVolume,description; quote fields with commas). Streams one NDJSON result per row "
+            + "followed by a summary line; with dryRun=true nothing is written (Warehouse Manager only)")
+    @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
+    public void importItems(
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        ItemImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ItemImportService.Format.CSV
+                : ItemImportService.Format.NDJSON;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+
+        ItemImportSummary summary = itemImportService.importItems(
+                request.getInputStream(), format, dryRun, results -> writeLines(writer, results));
+        writeLine(writer, Map.of("summary", summary));
+        writer.flush();
+    }
+
+    /**
+     * Sends a committed chunk's results right away instead of leaving them in the
+     * response buffer.
+     */
+    private void writeLines(PrintWriter writer, List<?> values) {
+        values.forEach(value -> writeLine(writer, value));
+        writer.flush();
+    }
+
+    private void writeLine(PrintWriter writer, Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @PutMapping("/manager/items/{id}")
     @Operation(summary = "Update item (full)", description = "Replace entire item (all fields required) (Warehouse Manager only)")
     @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
@@ -90,4 +170,16 @@ public class ItemController {
         return ResponseEntity.ok(ApiResponse.success("Item deleted successfully", null));
     }
 
+    @GetMapping("/manager/items/{id}/stock")
+    @Operation(summary = "Get stock at a point in time",
+            description = "On-hand quantity of an item at the given time, now if omitted (Warehouse Manager only)")
+    @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
+    public ResponseEntity<ApiResponse<StockLevelResponse>> getStockAt(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+
+        StockLevelResponse stock = itemService.getStockAt(id, at);
+        return ResponseEntity.ok(ApiResponse.success("Stock level fetched successfully", stock));
+    }
+
 }
\ No newline at end of file
@@ -1,13 +1,18 @@
 package com.sample.demo.controller;
 
 import com.sample.demo.dto.common.ApiResponse;
+import com.sample.demo.dto.common.CursorPage;
 import com.sample.demo.dto.order.*;
 import com.sample.demo.model.entity.User;
 import com.sample.demo.model.enums.OrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.demo.service.OrderImportService;
 import com.sample.demo.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,13 +21,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -33,6 +44,11 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderImportService orderImportService;
+    private final ObjectMapper objectMapper;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
 
     // ==================== CLIENT ENDPOINTS ====================
 
@@ -48,6 +64,49 @@ public class OrderController {
         return new ResponseEntity<>(ApiResponse.success("Order created successfully", order), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/client/orders/import", consumes = {NDJSON, CSV}, produces = NDJSON)
+    @Operation(summary = "Import orders", description = "Bulk-create orders from NDJSON (one order per line: reference, deadlineDate, orderItems) "
+            + "or CSV (orderRef,deadlineDate,itemId,requestedQuantity; consecutive rows with the same orderRef form one order). "
+            + "Streams one NDJSON result per order followed by a summary line (CLIENT only)")
+    @PreAuthorize("hasRole('CLIENT')")
+    public void importOrders(
+            @AuthenticationPrincipal User currentUser,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        OrderImportService.Format format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? OrderImportService.Format.CSV
+                : OrderImportService.Format.NDJSON;
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        PrintWriter writer = response.getWriter();
+
+        OrderImportSummary summary = orderImportService.importOrders(
+                currentUser.getUsername(), request.getInputStream(), format, results -> writeLines(writer, results));
+        writeLine(writer, Map.of("summary", summary));
+        writer.flush();
+    }
+
+    /**
+     * Sends a committed chunk's results right away instead of leaving them in the
+     * response buffer.
+     */
+    private void writeLines(PrintWriter writer, List<?> values) {
+        values.forEach(value -> writeLine(writer, value));
+        writer.flush();
+    }
+
+    private void writeLine(PrintWriter writer, Object value) {
+        try {
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     @GetMapping("/client/orders")
     @Operation(summary = "Get client orders", description = "Get all orders for the authenticated client with optional status filter (CLIENT only)")
     @PreAuthorize("hasRole('CLIENT')")
@@ -66,6 +125,19 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Orders fetched successfully", orders));
     }
 
+    @GetMapping("/client/orders/cursor")
+    @Operation(summary = "Get client orders by cursor", description = "Keyset-paginated orders for the authenticated client, newest submission first. Pass nextCursor from the previous page as cursor (CLIENT only)")
+    @PreAuthorize("hasRole('CLIENT')")
+    public ResponseEntity<ApiResponse<CursorPage<OrderDTO>>> getClientOrdersByCursor(
+            @AuthenticationPrincipal User currentUser,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<OrderDTO> orders = orderService.getClientOrdersByCursor(currentUser.getUsername(), status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Orders fetched successfully", orders));
+    }
+
     @GetMapping("/client/orders/{orderId}")
     @Operation(summary = "Get client order by ID", description = "Get a specific order by ID for the authenticated client (CLIENT only)")
     @PreAuthorize("hasRole('CLIENT')")
@@ -131,6 +203,18 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success("Orders fetched successfully", orders));
     }
 
+    @GetMapping("/manager/orders/cursor")
+    @Operation(summary = "Get all orders by cursor", description = "Keyset-paginated orders with optional status filter, sorted by submission date DESC. Pass nextCursor from the previous page as cursor (WAREHOUSE_MANAGER only)")
+    @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummaryDTO>>> getAllOrdersByCursor(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<OrderSummaryDTO> orders = orderService.getAllOrdersByCursor(status, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Orders fetched successfully", orders));
+    }
+
     @GetMapping("/manager/orders/{orderId}")
     @Operation(summary = "Get order details", description = "Get detailed information about a specific order (WAREHOUSE_MANAGER only)")
     @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
@@ -161,7 +245,7 @@ public class OrderController {
     }
 
     @PostMapping("/manager/orders/{orderId}/schedule-delivery")
-    @Operation(summary = "Schedule delivery", description = "Schedule delivery for an approved order with selected trucks (WAREHOUSE_MANAGER only)")
+    @Operation(summary = "Schedule delivery", description = "Schedule delivery for an approved order with selected trucks, or set autoAssignTrucks to pick the smallest set of free trucks (WAREHOUSE_MANAGER only)")
     @PreAuthorize("hasRole('WAREHOUSE_MANAGER')")
     public ResponseEntity<ApiResponse<OrderDTO>> scheduleDelivery(
             @PathVariable Long orderId,
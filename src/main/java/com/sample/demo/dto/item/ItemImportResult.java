@@ -0,0 +1,26 @@
+package com.sample.demo.dto.item;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+
+    public enum Action { CREATED, UPDATED, UNCHANGED, FAILED }
+
+    private int line;
+    private String sku;
+    private Action action; // what was done, or would be done on a dry run
+    private Long itemId;
+    private List<String> changes; // fields that differ from the stored item
+    private String error;
+}
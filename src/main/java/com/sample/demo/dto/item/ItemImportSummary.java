@@ -0,0 +1,22 @@
+package com.sample.demo.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemImportSummary {
+
+    private boolean dryRun;
+    private int totalRows;
+    private int createdItems;
+    private int updatedItems;
+    private int unchangedItems;
+    private int failedRows;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+}
@@ -27,4 +27,6 @@ public class ItemRequest {
     private String description;
 
     private String sku;
+
+    private Boolean hotSku;
 }
@@ -15,8 +15,10 @@ public class ItemResponse {
     private Long id;
     private String itemName;
     private Integer quantity;
+    private Integer availableToPromise;
     private BigDecimal unitPrice;
     private Double packageVolume;
     private String description;
     private String sku;
+    private Boolean hotSku;
 }
@@ -0,0 +1,26 @@
+package com.sample.demo.dto.item;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters of the item search; every filter is optional and they are combined with AND.
+ * Range bounds are inclusive.
+ */
+@Data
+public class ItemSearchRequest {
+
+    public enum Match { PREFIX, CONTAINS }
+
+    private String name;
+    private String sku;
+    private Match match = Match.PREFIX; // applies to name and sku; PREFIX can use the indexes
+
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Double minVolume;
+    private Double maxVolume;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+}
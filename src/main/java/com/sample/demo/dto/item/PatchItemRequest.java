@@ -23,4 +23,6 @@ public class PatchItemRequest {
     private String description;
 
     private String sku;
+
+    private Boolean hotSku;
 }
@@ -0,0 +1,18 @@
+package com.sample.demo.dto.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelResponse {
+    private Long itemId;
+    private LocalDateTime at;
+    private Integer quantity;
+}
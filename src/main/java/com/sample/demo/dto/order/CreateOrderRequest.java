@@ -1,5 +1,6 @@
 package com.sample.demo.dto.order;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -16,5 +17,6 @@ public class CreateOrderRequest {
     private LocalDate deadlineDate;
 
     @NotEmpty(message = "At least one order item is required")
+    @Valid
     private List<OrderItemRequest> orderItems;
 }
\ No newline at end of file
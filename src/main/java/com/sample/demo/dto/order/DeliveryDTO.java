@@ -18,6 +18,7 @@ public class DeliveryDTO {
     private LocalDate scheduledDate;
     private List<Long> truckIds;
     private Double totalVolume;
+    private Double unusedCapacity;
     private boolean completed;
     private LocalDateTime completedAt;
     private String notes;
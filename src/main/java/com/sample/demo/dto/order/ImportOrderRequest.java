@@ -0,0 +1,15 @@
+package com.sample.demo.dto.order;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One order of a bulk import. The reference is the client's own identifier for the
+ * order and is echoed back in the import results.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ImportOrderRequest extends CreateOrderRequest {
+
+    private String reference;
+}
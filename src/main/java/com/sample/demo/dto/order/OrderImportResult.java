@@ -0,0 +1,22 @@
+package com.sample.demo.dto.order;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderImportResult {
+
+    private int line; // first input line of the order
+    private String reference;
+    private boolean success;
+    private Long orderId;
+    private String orderNumber;
+    private String error;
+}
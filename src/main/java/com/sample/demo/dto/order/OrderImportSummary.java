@@ -0,0 +1,20 @@
+package com.sample.demo.dto.order;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderImportSummary {
+
+    private int totalOrders;
+    private int createdOrders;
+    private int failedOrders;
+    private int orderLines;
+    private long elapsedMillis;
+    private double ordersPerSecond;
+}
@@ -1,7 +1,8 @@
 package com.sample.demo.dto.order;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Future;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -15,8 +16,16 @@ public class ScheduleDeliveryRequest {
     @Future(message = "Scheduled date must be in the future")
     private LocalDate scheduledDate;
 
-    @NotEmpty(message = "At least one truck is required")
     private List<Long> truckIds;
 
+    // When set, truckIds is ignored and the smallest set of free trucks covering the order is picked
+    private boolean autoAssignTrucks;
+
     private String notes;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one truck is required")
+    public boolean isTruckSelectionValid() {
+        return autoAssignTrucks || (truckIds != null && !truckIds.isEmpty());
+    }
 }
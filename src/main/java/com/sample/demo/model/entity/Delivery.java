@@ -13,14 +13,17 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "deliveries")
+@Table(name = "deliveries", indexes = {
+        @Index(name = "idx_deliveries_open", columnList = "completed, scheduled_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Delivery {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "deliveries_id")
+    @TableGenerator(name = "deliveries_id", table = "id_generators", pkColumnValue = "deliveries", allocationSize = 50)
     private Long id;
 
     @Version
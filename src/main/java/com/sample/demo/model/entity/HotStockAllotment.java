@@ -0,0 +1,58 @@
+package com.sample.demo.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Block of a hot item's stock leased to one node. The units are counted in the item's
+ * reservedQuantity for as long as the allotment exists; quantity is what the node had
+ * left as of its last flush. A node keeps its allotments alive by flushing, and an
+ * allotment whose lease ran out is folded back into the item by the recovery job.
+ */
+@Entity
+@Table(name = "hot_stock_allotments", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_hot_stock_allotments_node_item", columnNames = {"node_id", "item_id"})
+}, indexes = {
+        @Index(name = "idx_hot_stock_allotments_lease", columnList = "lease_until")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockAllotment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "hot_stock_allotments_id")
+    @TableGenerator(name = "hot_stock_allotments_id", table = "id_generators", pkColumnValue = "hot_stock_allotments", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "node_id", nullable = false, length = 128)
+    private String nodeId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "lease_until", nullable = false)
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime updatedAt;
+
+    public HotStockAllotment(String nodeId, Long itemId, LocalDateTime leaseUntil) {
+        this.nodeId = nodeId;
+        this.itemId = itemId;
+        this.quantity = 0;
+        this.leaseUntil = leaseUntil;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,60 @@
+package com.sample.demo.model.entity;
+
+import com.sample.demo.model.enums.HotStockIntentType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable record of a hot-stock change that has not been applied to the item row yet.
+ * Appended in the transaction that makes the change and deleted by the flush that
+ * applies it. The foreign key to the allotment fences off a node whose allotment was
+ * taken back: its appends fail and the surrounding transaction rolls back.
+ */
+@Entity
+@Table(name = "hot_stock_intents")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotStockIntent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "hot_stock_intents_id")
+    @TableGenerator(name = "hot_stock_intents_id", table = "id_generators", pkColumnValue = "hot_stock_intents", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "allotment_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private HotStockAllotment allotment;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private HotStockIntentType type;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    private String reference; // order number
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public HotStockIntent(HotStockAllotment allotment, HotStockIntentType type, Integer quantity, String reference) {
+        this.allotment = allotment;
+        this.type = type;
+        this.quantity = quantity;
+        this.reference = reference;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,57 @@
+package com.sample.demo.model.entity;
+
+import com.sample.demo.model.enums.MovementType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of one change to an item's on-hand quantity. Rows are never
+ * updated; item_id is a plain column so the history outlives the item and appends
+ * skip the foreign key check.
+ */
+@Entity
+@Table(name = "inventory_movements", indexes = {
+        @Index(name = "idx_inventory_movements_item_created", columnList = "item_id, created_at"),
+        @Index(name = "idx_inventory_movements_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryMovement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inventory_movements_id")
+    @TableGenerator(name = "inventory_movements_id", table = "id_generators", pkColumnValue = "inventory_movements", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MovementType type;
+
+    private String reference; // order number, import batch, ...
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public InventoryMovement(Long itemId, Integer delta, MovementType type, String reference) {
+        this.itemId = itemId;
+        this.delta = delta;
+        this.type = type;
+        this.reference = reference;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,42 @@
+package com.sample.demo.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * On-hand quantity of an item as of takenAt, i.e. the sum of all its movements created
+ * up to that instant. Stock at a later time is the snapshot plus the movements after it.
+ */
+@Entity
+@Table(name = "inventory_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_inventory_snapshot", columnNames = {"item_id", "taken_at"}),
+       indexes = @Index(name = "idx_inventory_snapshots_taken_at", columnList = "taken_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "inventory_snapshots_id")
+    @TableGenerator(name = "inventory_snapshots_id", table = "id_generators", pkColumnValue = "inventory_snapshots", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private LocalDateTime takenAt;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    public InventorySnapshot(Long itemId, LocalDateTime takenAt, Integer quantity) {
+        this.itemId = itemId;
+        this.takenAt = takenAt;
+        this.quantity = quantity;
+    }
+}
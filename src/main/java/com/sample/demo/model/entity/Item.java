@@ -4,19 +4,29 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "items")
+@Table(name = "items", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_items_sku", columnNames = "sku")
+}, indexes = {
+        // Search: name prefix, optionally within a price band
+        @Index(name = "idx_items_name_price", columnList = "item_name, unit_price"),
+        // Search: price band, optionally within a volume band
+        @Index(name = "idx_items_price_volume", columnList = "unit_price, package_volume"),
+        @Index(name = "idx_items_volume", columnList = "package_volume")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "items_id")
+    @TableGenerator(name = "items_id", table = "id_generators", pkColumnValue = "items", allocationSize = 50)
     private Long id;
 
     @Version
@@ -28,6 +38,16 @@ public class Item {
     @Column(nullable = false)
     private Integer quantity;
 
+    // Units held by active inventory reservations; quantity - reservedQuantity is available to promise
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Integer reservedQuantity = 0;
+
+    // Opt-in for high-contention items: stock is granted from per-node leases, see HotStockService
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private Boolean hotSku = false;
+
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal unitPrice;
 
@@ -36,7 +56,7 @@ public class Item {
 
     private String description;
 
-    private String sku; // Stock Keeping Unit
+    private String sku; // Stock Keeping Unit; key for catalog imports
 
     private LocalDateTime createdAt;
 
@@ -49,10 +69,24 @@ public class Item {
         if (version == null) {
             version = 0L;
         }
+        if (reservedQuantity == null) {
+            reservedQuantity = 0;
+        }
+        if (hotSku == null) {
+            hotSku = false;
+        }
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+
+    public int getAvailableToPromise() {
+        return Math.max(0, quantity - reservedQuantity);
+    }
+
+    public boolean isHot() {
+        return Boolean.TRUE.equals(hotSku);
+    }
+}
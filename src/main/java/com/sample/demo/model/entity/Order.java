@@ -14,21 +14,26 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_submitted_date_id", columnList = "submitted_date, id"),
+        @Index(name = "idx_orders_status_submitted_date_id", columnList = "status, submitted_date, id"),
+        @Index(name = "idx_orders_client_submitted_date_id", columnList = "client_id, submitted_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "orders_id")
+    @TableGenerator(name = "orders_id", table = "id_generators", pkColumnValue = "orders", allocationSize = 50)
     private Long id;
 
     @Version
     private Long version;
 
     @Column(unique = true, nullable = false)
-    private String orderNumber;
+    private String orderNumber; // ORD-YYYYMMDD-XXXXX, assigned by OrderNumberAllocator
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "client_id", nullable = false)
@@ -67,12 +72,6 @@ public class Order {
         if (version == null) {
             version = 0L;
         }
-        if (orderNumber == null) {
-            // Generate order number format: ORD-YYYYMMDD-XXXXX
-            orderNumber = String.format("ORD-%s-%05d",
-                LocalDateTime.now().toLocalDate().toString().replace("-", ""),
-                System.currentTimeMillis() % 100000);
-        }
     }
 
     @PreUpdate
@@ -0,0 +1,56 @@
+package com.sample.demo.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Issued refresh token. Each login starts a session; every refresh uses up the
+ * presented token and issues the next one in the same session. Revoking a session
+ * invalidates its refresh tokens and the access tokens issued from them.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = {
+        @Index(name = "idx_refresh_tokens_session_id", columnList = "session_id"),
+        @Index(name = "idx_refresh_tokens_revoked_at", columnList = "revoked_at"),
+        @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_refresh_tokens_used_at", columnList = "used_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String tokenId; // jti claim
+
+    @Column(name = "session_id", nullable = false, length = 36)
+    private String sessionId; // sid claim, shared by every token of one login
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "used_at")
+    private LocalDateTime usedAt; // set when the token is rotated
+
+    @Column(name = "revoked_at")
+    private LocalDateTime revokedAt; // set when its session is revoked
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
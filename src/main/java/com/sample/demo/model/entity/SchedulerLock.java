@@ -0,0 +1,33 @@
+package com.sample.demo.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lease on a cluster-wide scheduled job. The job belongs to lockedBy until leaseUntil;
+ * the holder keeps extending the lease while it runs, and any node may take over once
+ * it has expired.
+ */
+@Entity
+@Table(name = "scheduler_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 255)
+    private String lockedBy;
+
+    private LocalDateTime lockedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime leaseUntil;
+}
@@ -18,6 +18,9 @@ public class SystemConfig {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(unique = true, nullable = false)
     private String configKey;
 
@@ -26,6 +29,13 @@ public class SystemConfig {
 
     private LocalDateTime updatedAt;
 
+    @PrePersist
+    protected void onCreate() {
+        if (version == null) {
+            version = 0L;
+        }
+    }
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
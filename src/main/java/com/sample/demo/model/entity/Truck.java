@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class Truck {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "trucks_id")
+    @TableGenerator(name = "trucks_id", table = "id_generators", pkColumnValue = "trucks", allocationSize = 50)
     private Long id;
 
     @Column(unique = true, nullable = false)
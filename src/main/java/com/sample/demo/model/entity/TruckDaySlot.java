@@ -0,0 +1,68 @@
+package com.sample.demo.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Load booked on a truck for one delivery day. Several deliveries share a slot until
+ * reservedVolume reaches the truck's container volume. The unique (truck_id, slot_date)
+ * key and the version column let the database reject concurrent double bookings.
+ */
+@Entity
+@Table(name = "truck_day_slots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_truck_day_slot", columnNames = {"truck_id", "slot_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TruckDaySlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "truck_day_slots_id")
+    @TableGenerator(name = "truck_day_slots_id", table = "id_generators", pkColumnValue = "truck_day_slots", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "truck_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Truck truck;
+
+    @Version
+    private Long version;
+
+    @Column(name = "slot_date", nullable = false)
+    private LocalDate slotDate;
+
+    @Column(nullable = false)
+    private Double reservedVolume = 0.0;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public TruckDaySlot(Truck truck, LocalDate slotDate) {
+        this.truck = truck;
+        this.slotDate = slotDate;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+        if (version == null) {
+            version = 0L;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
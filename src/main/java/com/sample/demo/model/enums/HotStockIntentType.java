@@ -0,0 +1,8 @@
+package com.sample.demo.model.enums;
+
+public enum HotStockIntentType {
+    REFILL,
+    RESERVE,
+    RELEASE,
+    SHIP
+}
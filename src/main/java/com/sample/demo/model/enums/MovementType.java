@@ -0,0 +1,8 @@
+package com.sample.demo.model.enums;
+
+public enum MovementType {
+    OPENING,
+    ADJUSTMENT,
+    SHIPMENT,
+    IMPORT
+}
@@ -0,0 +1,7 @@
+package com.sample.demo.model.enums;
+
+public enum ReservationStatus {
+    ACTIVE,
+    RELEASED,
+    CONSUMED
+}
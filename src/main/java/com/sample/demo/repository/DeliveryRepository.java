@@ -2,22 +2,44 @@ package com.sample.demo.repository;
 
 import com.sample.demo.model.entity.Delivery;
 import com.sample.demo.model.entity.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
 
-    List<Delivery> findByScheduledDate(LocalDate scheduledDate);
+    /**
+     * First page of open deliveries scheduled between two dates, ordered by
+     * (scheduledDate, id), ids only, served from idx_deliveries_open. Completing a page
+     * takes it out of the next one.
+     */
+    @Query("SELECT d.id AS id, d.order.id AS orderId, d.scheduledDate AS scheduledDate FROM Delivery d " +
+           "WHERE d.completed = false AND d.scheduledDate >= :fromDate AND d.scheduledDate <= :upTo " +
+           "ORDER BY d.scheduledDate, d.id")
+    List<DueDelivery> findDueDeliveries(@Param("fromDate") LocalDate fromDate,
+                                        @Param("upTo") LocalDate upTo,
+                                        Pageable pageable);
 
-    List<Delivery> findByScheduledDateAndCompletedFalse(LocalDate scheduledDate);
+    @Modifying
+    @Query("UPDATE Delivery d SET d.completed = true, d.completedAt = :now, d.updatedAt = :now, " +
+           "d.version = d.version + 1 WHERE d.id IN :ids AND d.completed = false")
+    int markCompleted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
 
-    @Query("SELECT d FROM Delivery d JOIN d.trucks t WHERE t.id = :truckId AND d.scheduledDate = :date")
-    List<Delivery> findByTruckAndDate(@Param("truckId") Long truckId, @Param("date") LocalDate date);
+    interface DueDelivery {
+        Long getId();
+
+        Long getOrderId();
+
+        LocalDate getScheduledDate();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.HotStockAllotment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface HotStockAllotmentRepository extends JpaRepository<HotStockAllotment, Long> {
+
+    Optional<HotStockAllotment> findByNodeIdAndItemId(String nodeId, Long itemId);
+
+    List<HotStockAllotment> findByNodeId(String nodeId);
+
+    List<HotStockAllotment> findByLeaseUntilBefore(LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM HotStockAllotment a WHERE a.id = :id")
+    Optional<HotStockAllotment> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT a.itemId AS itemId, SUM(a.quantity) AS quantity FROM HotStockAllotment a " +
+           "WHERE a.itemId IN :itemIds GROUP BY a.itemId")
+    List<PooledQuantity> sumQuantityByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    interface PooledQuantity {
+        Long getItemId();
+
+        Long getQuantity();
+    }
+}
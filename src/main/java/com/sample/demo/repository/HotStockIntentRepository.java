@@ -0,0 +1,24 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.HotStockIntent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface HotStockIntentRepository extends JpaRepository<HotStockIntent, Long> {
+
+    List<HotStockIntent> findByAllotmentIdOrderById(Long allotmentId);
+
+    /**
+     * Deletes the intents a flush has read. By id rather than by range: pooled ids are
+     * handed out before the appending transactions commit, so they commit out of order.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("DELETE FROM HotStockIntent i WHERE i.id IN :ids")
+    int deleteFlushed(@Param("ids") List<Long> ids);
+}
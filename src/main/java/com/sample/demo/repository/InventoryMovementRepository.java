@@ -0,0 +1,30 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.InventoryMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM InventoryMovement m " +
+           "WHERE m.itemId = :itemId AND m.createdAt > :from AND m.createdAt <= :to")
+    long sumDelta(@Param("itemId") Long itemId,
+                  @Param("from") LocalDateTime from,
+                  @Param("to") LocalDateTime to);
+
+    @Query("SELECT m.itemId AS itemId, SUM(m.delta) AS delta FROM InventoryMovement m " +
+           "WHERE m.createdAt > :from AND m.createdAt <= :to GROUP BY m.itemId")
+    List<ItemDelta> sumDeltaByItem(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface ItemDelta {
+        Long getItemId();
+
+        long getDelta();
+    }
+}
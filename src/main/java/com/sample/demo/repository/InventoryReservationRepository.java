@@ -0,0 +1,26 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.InventoryReservation;
+import com.sample.demo.model.enums.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+
+    List<InventoryReservation> findByOrderIdAndStatus(Long orderId, ReservationStatus status);
+
+    @Modifying
+    @Query("UPDATE InventoryReservation r SET r.status = :to, r.updatedAt = :now " +
+           "WHERE r.order.id = :orderId AND r.status = :from")
+    int updateStatus(@Param("orderId") Long orderId,
+                     @Param("from") ReservationStatus from,
+                     @Param("to") ReservationStatus to,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,26 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(Long itemId,
+                                                                                           LocalDateTime at);
+
+    @Query("SELECT MAX(s.takenAt) FROM InventorySnapshot s")
+    Optional<LocalDateTime> findLastTakenAt();
+
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.itemId IN :itemIds AND s.takenAt = " +
+           "(SELECT MAX(l.takenAt) FROM InventorySnapshot l WHERE l.itemId = s.itemId)")
+    List<InventorySnapshot> findLatestByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+}
@@ -1,14 +1,21 @@
 package com.sample.demo.repository;
 
 import com.sample.demo.model.entity.Item;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item>, ItemRepositoryCustom {
 
     /**
      * Atomically decrements item quantity. Returns 0 if insufficient stock.
@@ -17,4 +24,19 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     @Modifying(clearAutomatically = true, flushAutomatically = true)
     @Query("UPDATE Item i SET i.quantity = i.quantity - :amount WHERE i.id = :id AND i.quantity >= :amount")
     int decrementQuantity(@Param("id") Long id, @Param("amount") Integer amount);
-}
\ No newline at end of file
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
+
+    boolean existsBySku(String sku);
+
+    List<Item> findBySkuIn(Collection<String> skus);
+
+    /**
+     * Locks the rows in id order, like the other multi-item updates.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.sku IN :skus ORDER BY i.id")
+    List<Item> findBySkuInForUpdate(@Param("skus") Collection<String> skus);
+}
@@ -0,0 +1,39 @@
+package com.sample.demo.repository;
+
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Multi-item stock changes. Each call locks the affected rows in ascending id order,
+ * so concurrent orders touching the same items can never deadlock on each other, and
+ * either applies every change or none. Available stock is quantity - reservedQuantity.
+ */
+public interface ItemRepositoryCustom {
+
+    /**
+     * Takes stock out of the warehouse.
+     *
+     * @param quantities units to take per item id
+     * @return every item whose available stock could not cover its quantity, empty if applied
+     */
+    List<StockShortage> decrementQuantities(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Holds stock for an order without taking it out.
+     *
+     * @param quantities units to hold per item id
+     * @return every item whose available stock could not cover its quantity, empty if applied
+     */
+    List<StockShortage> reserveQuantities(SortedMap<Long, Integer> quantities);
+
+    /**
+     * Gives back stock held by {@link #reserveQuantities}.
+     */
+    void releaseQuantities(SortedMap<Long, Integer> quantities);
+
+    /**
+     * @param itemName null if the item does not exist
+     */
+    record StockShortage(Long itemId, String itemName, int available, int requested) {
+    }
+}
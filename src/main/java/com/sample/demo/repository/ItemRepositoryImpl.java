@@ -0,0 +1,86 @@
+package com.sample.demo.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@RequiredArgsConstructor
+class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private record Stock(String itemName, int available) {
+    }
+
+    @Override
+    public List<StockShortage> decrementQuantities(SortedMap<Long, Integer> quantities) {
+        return applyIfAvailable(quantities,
+                "UPDATE items SET quantity = quantity - ?, version = version + 1, updated_at = ? WHERE id = ?");
+    }
+
+    @Override
+    public List<StockShortage> reserveQuantities(SortedMap<Long, Integer> quantities) {
+        return applyIfAvailable(quantities,
+                "UPDATE items SET reserved_quantity = reserved_quantity + ?, version = version + 1, updated_at = ? WHERE id = ?");
+    }
+
+    @Override
+    public void releaseQuantities(SortedMap<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        batchUpdate(quantities,
+                "UPDATE items SET reserved_quantity = reserved_quantity - ?, version = version + 1, updated_at = ? WHERE id = ?");
+        entityManager.clear();
+    }
+
+    private List<StockShortage> applyIfAvailable(SortedMap<Long, Integer> quantities, String sql) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        entityManager.flush();
+
+        Map<Long, Stock> stock = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT id, item_name, quantity - reserved_quantity AS available FROM items " +
+                "WHERE id IN (:ids) ORDER BY id FOR UPDATE",
+                Map.of("ids", quantities.keySet()),
+                rs -> {
+                    stock.put(rs.getLong("id"), new Stock(rs.getString("item_name"), rs.getInt("available")));
+                });
+
+        List<StockShortage> shortages = new ArrayList<>();
+        quantities.forEach((id, requested) -> {
+            Stock current = stock.get(id);
+            if (current == null) {
+                shortages.add(new StockShortage(id, null, 0, requested));
+            } else if (current.available() < requested) {
+                shortages.add(new StockShortage(id, current.itemName(), current.available(), requested));
+            }
+        });
+        if (!shortages.isEmpty()) {
+            return shortages;
+        }
+
+        batchUpdate(quantities, sql);
+        // Loaded items are stale now; same effect as clearAutomatically on decrementQuantity
+        entityManager.clear();
+        return List.of();
+    }
+
+    private void batchUpdate(SortedMap<Long, Integer> quantities, String sql) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.getJdbcTemplate().batchUpdate(sql, quantities.entrySet().stream()
+                .map(e -> new Object[]{e.getValue(), now, e.getKey()})
+                .toList());
+    }
+}
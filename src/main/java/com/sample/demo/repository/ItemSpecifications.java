@@ -0,0 +1,56 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.Item;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Building blocks of the item search. Each returns null for an absent filter, which
+ * Specification.allOf skips. Text matching is case-insensitive through the column
+ * collation; wrapping the column in lower() would rule out the index.
+ */
+public final class ItemSpecifications {
+
+    // Not backslash, which MySQL string literals would need escaped again
+    private static final char ESCAPE = '!';
+
+    private ItemSpecifications() {
+    }
+
+    public static Specification<Item> startsWith(String attribute, String text) {
+        return isBlank(text) ? null : (root, query, cb) -> cb.like(root.get(attribute), escape(text) + "%", ESCAPE);
+    }
+
+    public static Specification<Item> contains(String attribute, String text) {
+        return isBlank(text) ? null : (root, query, cb) -> cb.like(root.get(attribute), "%" + escape(text) + "%", ESCAPE);
+    }
+
+    public static <T extends Comparable<? super T>> Specification<Item> between(String attribute, T min, T max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get(attribute), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get(attribute), min);
+            }
+            return cb.between(root.get(attribute), min, max);
+        };
+    }
+
+    public static Specification<Item> idAfter(Long id) {
+        return id == null ? null : (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    private static boolean isBlank(String text) {
+        return text == null || text.isBlank();
+    }
+
+    private static String escape(String text) {
+        return text.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+    }
+}
@@ -1,31 +1,120 @@
 package com.sample.demo.repository;
 
+import com.sample.demo.dto.order.OrderSummaryDTO;
 import com.sample.demo.model.entity.Order;
 import com.sample.demo.model.entity.User;
 import com.sample.demo.model.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    /**
+     * Loads everything mapToDTO touches except delivery trucks in one query.
+     * Trucks are a second bag and come from a batch fetch instead of the join.
+     */
+    @EntityGraph(attributePaths = {"client", "orderItems", "orderItems.item", "delivery"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findDetailById(@Param("id") Long id);
+
+    /**
+     * Initialises order items for a page of orders that is already loaded.
+     */
+    @EntityGraph(attributePaths = {"orderItems", "orderItems.item"})
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids")
+    List<Order> findWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"client", "delivery"})
     Page<Order> findByClient(User client, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"client", "delivery"})
     Page<Order> findByClientAndStatus(User client, OrderStatus status, Pageable pageable);
 
-    @Query("SELECT o FROM Order o WHERE o.status = :status ORDER BY o.submittedDate DESC NULLS LAST")
-    Page<Order> findByStatusOrderBySubmittedDateDesc(@Param("status") OrderStatus status, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT new com.sample.demo.dto.order.OrderSummaryDTO(" +
+            "o.id, o.orderNumber, c.username, o.status, o.submittedDate, o.deadlineDate) " +
+            "FROM Order o JOIN o.client c ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE o.status = :status ORDER BY o.submittedDate DESC NULLS LAST",
+           countQuery = "SELECT COUNT(o) FROM Order o WHERE o.status = :status")
+    Page<OrderSummaryDTO> findSummariesByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "ORDER BY o.submittedDate DESC NULLS LAST",
+           countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderSummaryDTO> findAllSummaries(Pageable pageable);
+
+    /**
+     * Summary keyset page over submitted orders, newest first, strictly after (afterDate, afterId).
+     * Pass null afterDate for the first page; status is an optional filter.
+     */
+    @Query(SUMMARY_SELECT + "WHERE o.submittedDate IS NOT NULL " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND (:afterDate IS NULL OR o.submittedDate < :afterDate " +
+           "     OR (o.submittedDate = :afterDate AND o.id < :afterId)) " +
+           "ORDER BY o.submittedDate DESC, o.id DESC")
+    List<OrderSummaryDTO> findSubmittedSummariesAfter(@Param("status") OrderStatus status,
+                                                      @Param("afterDate") LocalDateTime afterDate,
+                                                      @Param("afterId") Long afterId,
+                                                      Pageable pageable);
+
+    /**
+     * Summary keyset page over orders that were never submitted, newest id first.
+     */
+    @Query(SUMMARY_SELECT + "WHERE o.submittedDate IS NULL " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND (:afterId IS NULL OR o.id < :afterId) " +
+           "ORDER BY o.id DESC")
+    List<OrderSummaryDTO> findUnsubmittedSummariesAfter(@Param("status") OrderStatus status,
+                                                        @Param("afterId") Long afterId,
+                                                        Pageable pageable);
+
+    /**
+     * Keyset page over a client's submitted orders, newest first, strictly after (afterDate, afterId).
+     * Pass null afterDate for the first page; status is an optional filter.
+     */
+    @EntityGraph(attributePaths = {"client", "delivery"})
+    @Query("SELECT o FROM Order o WHERE o.submittedDate IS NOT NULL " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND o.client.id = :clientId " +
+           "AND (:afterDate IS NULL OR o.submittedDate < :afterDate " +
+           "     OR (o.submittedDate = :afterDate AND o.id < :afterId)) " +
+           "ORDER BY o.submittedDate DESC, o.id DESC")
+    List<Order> findSubmittedAfter(@Param("status") OrderStatus status,
+                                   @Param("clientId") Long clientId,
+                                   @Param("afterDate") LocalDateTime afterDate,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
 
-    @Query("SELECT o FROM Order o ORDER BY o.submittedDate DESC NULLS LAST")
-    Page<Order> findAllOrderBySubmittedDateDesc(Pageable pageable);
+    /**
+     * Keyset page over a client's orders that were never submitted. These sort after all
+     * submitted orders (NULLS LAST), newest id first.
+     */
+    @EntityGraph(attributePaths = {"client", "delivery"})
+    @Query("SELECT o FROM Order o WHERE o.submittedDate IS NULL " +
+           "AND (:status IS NULL OR o.status = :status) " +
+           "AND o.client.id = :clientId " +
+           "AND (:afterId IS NULL OR o.id < :afterId) " +
+           "ORDER BY o.id DESC")
+    List<Order> findUnsubmittedAfter(@Param("status") OrderStatus status,
+                                     @Param("clientId") Long clientId,
+                                     @Param("afterId") Long afterId,
+                                     Pageable pageable);
 
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :now, o.version = o.version + 1 WHERE o.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("now") LocalDateTime now);
+}
@@ -2,18 +2,23 @@ package com.sample.demo.repository;
 
 import com.sample.demo.model.entity.PasswordResetToken;
 import com.sample.demo.model.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(String tokenHash);
 
-    void deleteByExpiryDateBefore(LocalDateTime now);
+    @Query("SELECT t.id FROM PasswordResetToken t WHERE t.expiryDate < :now")
+    List<Long> findIdsByExpiryDateBefore(@Param("now") LocalDateTime now, Pageable pageable);
 
     void deleteByUser(User user);
 }
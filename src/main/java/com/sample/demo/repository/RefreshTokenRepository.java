@@ -0,0 +1,46 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Uses up a refresh token. Only one caller can win for a given token.
+     *
+     * @return 1 if the token was live and is now used, 0 if unknown, used, revoked or expired
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.tokenId = :tokenId " +
+           "AND t.usedAt IS NULL AND t.revokedAt IS NULL AND t.expiresAt > :now")
+    int markUsed(@Param("tokenId") String tokenId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.sessionId = :sessionId AND t.revokedAt IS NULL")
+    int revokeSession(@Param("sessionId") String sessionId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.sessionId FROM RefreshToken t WHERE t.revokedAt IS NOT NULL AND t.expiresAt > :now")
+    List<String> findRevokedSessionIds(@Param("now") LocalDateTime now);
+
+    @Query("SELECT DISTINCT t.sessionId FROM RefreshToken t WHERE t.revokedAt >= :since")
+    List<String> findSessionIdsRevokedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Tokens nothing needs any more: expired ones, and unrevoked ones used up before
+     * usedBefore, whose access tokens have expired too.
+     */
+    @Query("SELECT t.id FROM RefreshToken t WHERE t.expiresAt <= :now " +
+           "OR (t.usedAt < :usedBefore AND t.revokedAt IS NULL)")
+    List<Long> findPurgeableIds(@Param("now") LocalDateTime now,
+                                @Param("usedBefore") LocalDateTime usedBefore,
+                                Pageable pageable);
+}
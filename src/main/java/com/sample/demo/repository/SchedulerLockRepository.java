@@ -0,0 +1,32 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.SchedulerLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    /**
+     * Takes the lease if it has expired (or is already ours). The row lock taken by the
+     * update makes this safe against other nodes trying at the same moment.
+     */
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.lockedBy = :owner, l.lockedAt = :now, l.leaseUntil = :leaseUntil " +
+           "WHERE l.name = :name AND (l.leaseUntil <= :now OR l.lockedBy = :owner)")
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now,
+                @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("UPDATE SchedulerLock l SET l.leaseUntil = :leaseUntil WHERE l.name = :name AND l.lockedBy = :owner")
+    int extend(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("leaseUntil") LocalDateTime leaseUntil);
+}
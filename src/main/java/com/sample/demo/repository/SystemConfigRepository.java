@@ -2,6 +2,7 @@ package com.sample.demo.repository;
 
 import com.sample.demo.model.entity.SystemConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +10,16 @@ import java.util.Optional;
 @Repository
 public interface SystemConfigRepository extends JpaRepository<SystemConfig, Long> {
     Optional<SystemConfig> findByConfigKey(String configKey);
+
+    /**
+     * Changes whenever a row is added, removed or updated (each update bumps its version).
+     */
+    @Query("SELECT COUNT(c) AS rowCount, COALESCE(SUM(c.version), 0) AS versionSum FROM SystemConfig c")
+    VersionFingerprint findVersionFingerprint();
+
+    interface VersionFingerprint {
+        long getRowCount();
+
+        long getVersionSum();
+    }
 }
@@ -0,0 +1,17 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.model.entity.TruckDaySlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TruckDaySlotRepository extends JpaRepository<TruckDaySlot, Long> {
+
+    List<TruckDaySlot> findBySlotDateBetween(LocalDate startDate, LocalDate endDate);
+
+    List<TruckDaySlot> findBySlotDateInAndTruckIdIn(Collection<LocalDate> slotDates, Collection<Long> truckIds);
+}
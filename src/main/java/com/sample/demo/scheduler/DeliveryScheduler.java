@@ -1,27 +1,34 @@
 package com.sample.demo.scheduler;
 
-import com.sample.demo.service.OrderService;
+import com.sample.demo.service.DeliveryFulfillmentService;
+import com.sample.demo.service.SchedulerLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDate;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class DeliveryScheduler {
 
-    private final OrderService orderService;
+    private final DeliveryFulfillmentService deliveryFulfillmentService;
+    private final SchedulerLockService lockService;
 
     /**
-     * Daily cronjob that checks scheduled deliveries and marks them as FULFILLED
-     * Runs every day at 00:01 AM
+     * Hourly cronjob that marks deliveries due up to today as FULFILLED
+     * Runs every hour at minute 1; the 00:01 run does the day's work, later runs pick up
+     * anything missed while no node was up and are otherwise a single indexed query.
+     * Only the node holding the "delivery.fulfillment" lock runs it
      */
-    @Scheduled(cron = "0 1 0 * * ?")
+    @Scheduled(cron = "0 1 * * * ?")
     public void fulfillScheduledDeliveries() {
-        log.info("========== Running daily delivery fulfillment check ==========");
+        log.info("========== Running delivery fulfillment check ==========");
         try {
-            orderService.fulfillScheduledDeliveries();
+            lockService.runExclusively("delivery.fulfillment",
+                    () -> deliveryFulfillmentService.fulfillDueDeliveries(LocalDate.now()));
         } catch (Exception e) {
             log.error("Error occurred during delivery fulfillment check", e);
         }
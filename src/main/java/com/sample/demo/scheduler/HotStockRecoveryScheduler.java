@@ -0,0 +1,30 @@
+package com.sample.demo.scheduler;
+
+import com.sample.demo.service.HotStockService;
+import com.sample.demo.service.SchedulerLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotStockRecoveryScheduler {
+
+    private final HotStockService hotStockService;
+    private final SchedulerLockService lockService;
+
+    /**
+     * Job that gives the hot-item stock leased to dead nodes back to the items
+     * Runs every 10 seconds by default, on the node holding the "inventory.hot-stock.recovery" lock
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-sku.recovery-interval:10000}")
+    public void recoverExpiredAllotments() {
+        try {
+            lockService.runExclusively("inventory.hot-stock.recovery", hotStockService::recoverExpired);
+        } catch (Exception e) {
+            log.error("Error occurred while recovering hot stock allotments", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sample.demo.scheduler;
+
+import com.sample.demo.service.InventoryJournalService;
+import com.sample.demo.service.SchedulerLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventorySnapshotScheduler {
+
+    private final InventoryJournalService inventoryJournalService;
+    private final SchedulerLockService lockService;
+
+    /**
+     * Cronjob that folds the inventory movement journal into per-item snapshots
+     * Runs every 15 minutes by default, on the node holding the "inventory.snapshots" lock
+     */
+    @Scheduled(cron = "${inventory.snapshots.cron:0 */15 * * * ?}")
+    public void takeInventorySnapshots() {
+        try {
+            lockService.runExclusively("inventory.snapshots", inventoryJournalService::takeSnapshots);
+        } catch (Exception e) {
+            log.error("Error occurred while taking inventory snapshots", e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sample.demo.scheduler;
+
+import com.sample.demo.service.SchedulerLockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Actuator view of the scheduler locks: which node holds each job and until when.
+ */
+@Component
+@Endpoint(id = "schedulerlocks")
+@RequiredArgsConstructor
+public class SchedulerLockEndpoint {
+
+    private final SchedulerLockService lockService;
+
+    @ReadOperation
+    public Locks locks() {
+        LocalDateTime now = LocalDateTime.now();
+        List<LockStatus> locks = lockService.findAll().stream()
+                .map(lock -> new LockStatus(
+                        lock.getName(),
+                        lock.getLockedBy(),
+                        lock.getLockedAt(),
+                        lock.getLeaseUntil(),
+                        lock.getLeaseUntil().isAfter(now)))
+                .toList();
+        return new Locks(lockService.getNodeId(), locks);
+    }
+
+    public record Locks(String node, List<LockStatus> locks) {
+    }
+
+    public record LockStatus(String name, String lockedBy, LocalDateTime lockedAt, LocalDateTime leaseUntil,
+                             boolean held) {
+    }
+}
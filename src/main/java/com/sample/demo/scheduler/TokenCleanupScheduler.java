@@ -0,0 +1,45 @@
+package com.sample.demo.scheduler;
+
+import com.sample.demo.service.PasswordResetService;
+import com.sample.demo.service.RefreshTokenService;
+import com.sample.demo.service.SchedulerLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenCleanupScheduler {
+
+    private final PasswordResetService passwordResetService;
+    private final RefreshTokenService refreshTokenService;
+    private final SchedulerLockService lockService;
+
+    /**
+     * Hourly cronjob that deletes expired password reset tokens
+     * Runs every hour at minute 15, on the node holding the "password-reset.purge" lock
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    public void purgeExpiredPasswordResetTokens() {
+        try {
+            lockService.runExclusively("password-reset.purge", passwordResetService::purgeExpiredTokens);
+        } catch (Exception e) {
+            log.error("Error occurred while purging expired password reset tokens", e);
+        }
+    }
+
+    /**
+     * Hourly cronjob that deletes expired and used refresh tokens
+     * Runs every hour at minute 45, on the node holding the "refresh-token.purge" lock
+     */
+    @Scheduled(cron = "0 45 * * * ?")
+    public void purgeStaleRefreshTokens() {
+        try {
+            lockService.runExclusively("refresh-token.purge", refreshTokenService::purgeStaleTokens);
+        } catch (Exception e) {
+            log.error("Error occurred while purging refresh tokens", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.sample.demo.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +10,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -20,7 +22,8 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final TokenRevocationList revocationList;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -29,22 +32,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = resolvePrincipal(authorizationHeader.substring(7));
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtils.extractUsername(jwt);
-            } catch (Exception e) {
-                // Invalid JWT token
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtils.validateToken(jwt, userDetails)) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authenticationToken =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -56,4 +48,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return the principal for a valid access token, or null if the token is invalid or
+     * revoked, its user is gone or disabled, or the user's role changed since it was issued
+     */
+    private UserDetails resolvePrincipal(String jwt) {
+        Claims claims;
+        try {
+            claims = jwtUtils.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid JWT token
+            return null;
+        }
+
+        // Refresh tokens are not accepted as access tokens; revoked sessions are checked in memory
+        String sessionId = claims.get(JwtUtils.SESSION_CLAIM, String.class);
+        if (!JwtUtils.ACCESS_TOKEN.equals(claims.get(JwtUtils.TYPE_CLAIM, String.class))
+                || sessionId == null || revocationList.isRevoked(sessionId)) {
+            return null;
+        }
+
+        UserDetails userDetails;
+        try {
+            userDetails = principalCache.get(claims.getSubject());
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+
+        if (!userDetails.isEnabled() || !userDetails.isAccountNonLocked() || !userDetails.isAccountNonExpired()) {
+            return null;
+        }
+
+        String role = claims.get(JwtUtils.ROLE_CLAIM, String.class);
+        boolean roleMatches = role != null && userDetails.getAuthorities().stream()
+                .anyMatch(authority -> authority.getAuthority().equals("ROLE_" + role));
+        return roleMatches ? userDetails : null;
+    }
+}
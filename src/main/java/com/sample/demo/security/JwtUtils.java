@@ -1,8 +1,10 @@
 package com.sample.demo.security;
 
+import com.sample.demo.model.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
@@ -16,6 +18,13 @@ import java.util.function.Function;
 @Component
 public class JwtUtils {
 
+    public static final String ROLE_CLAIM = "role";
+    public static final String TYPE_CLAIM = "typ";
+    public static final String SESSION_CLAIM = "sid";
+
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+
     @Value("${jwt.secret:mySecretKeyThatIsAtLeast256BitsLongForHS256AlgorithmRequirement12345}")
     private String jwtSecret;
 
@@ -25,6 +34,27 @@ public class JwtUtils {
     @Value("${jwt.refresh.expiration:604800000}") // 7 days in milliseconds
     private Long refreshExpiration;
 
+    // Decoded once; the parser is immutable and thread-safe
+    private SecretKey signKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void initialize() {
+        signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        parser = Jwts.parser()
+                .verifyWith(signKey)
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry of a token in a single parse.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,46 +64,56 @@ public class JwtUtils {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    public String generateToken(UserDetails userDetails) {
+    /**
+     * @param sessionId login session the token belongs to, so that logout can revoke it
+     */
+    public String generateToken(UserDetails userDetails, String sessionId) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, ACCESS_TOKEN);
+        claims.put(SESSION_CLAIM, sessionId);
+        if (userDetails instanceof User user && user.getRole() != null) {
+            claims.put(ROLE_CLAIM, user.getRole().name());
+        }
         return createToken(claims, userDetails.getUsername(), jwtExpiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
+    /**
+     * @param tokenId unique id (jti) the token is tracked by in the refresh token store
+     */
+    public String generateRefreshToken(UserDetails userDetails, String sessionId, String tokenId) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, REFRESH_TOKEN);
+        claims.put(SESSION_CLAIM, sessionId);
+        claims.put(Claims.ID, tokenId);
         return createToken(claims, userDetails.getUsername(), refreshExpiration);
     }
 
+    public Long getExpiration() {
+        return jwtExpiration;
+    }
+
+    public Long getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
     private String createToken(Map<String, Object> claims, String subject, Long expiration) {
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey())
+                .signWith(signKey)
                 .compact();
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            // The parser already rejects expired tokens
+            return parseClaims(token).getSubject().equals(userDetails.getUsername());
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
@@ -81,18 +121,10 @@ public class JwtUtils {
 
     public Boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSignKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
+            parseClaims(token);
+            return true;
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
-
-    private SecretKey getSignKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+}
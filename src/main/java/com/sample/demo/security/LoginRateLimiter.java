@@ -0,0 +1,72 @@
+package com.sample.demo.security;
+
+import com.sample.demo.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory token buckets per username and per remote address, checked before any
+ * password hash is computed. Buckets that have refilled completely carry no state and
+ * are dropped periodically, so memory tracks recent login activity only.
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private final int usernameCapacity;
+    private final long usernameRefillNanos;
+    private final int addressCapacity;
+    private final long addressRefillNanos;
+
+    private final Map<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> addressBuckets = new ConcurrentHashMap<>();
+
+    public LoginRateLimiter(@Value("${auth.login.rate-limit.username.capacity:5}") int usernameCapacity,
+                            @Value("${auth.login.rate-limit.username.refill-period:60000}") long usernameRefillMillis,
+                            @Value("${auth.login.rate-limit.address.capacity:20}") int addressCapacity,
+                            @Value("${auth.login.rate-limit.address.refill-period:60000}") long addressRefillMillis) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillNanos = TimeUnit.MILLISECONDS.toNanos(usernameRefillMillis);
+        this.addressCapacity = addressCapacity;
+        this.addressRefillNanos = TimeUnit.MILLISECONDS.toNanos(addressRefillMillis);
+    }
+
+    /**
+     * Takes one attempt from both the address and the username bucket.
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void acquire(String username, String remoteAddress) {
+        long now = System.nanoTime();
+
+        if (!bucket(addressBuckets, remoteAddress, addressCapacity, addressRefillNanos, now).tryConsume(now)) {
+            log.warn("Login rate limit exceeded for address {}", remoteAddress);
+            throw new TooManyRequestsException("Too many login attempts. Please try again later.");
+        }
+
+        String key = username.toLowerCase(Locale.ROOT);
+        if (!bucket(usernameBuckets, key, usernameCapacity, usernameRefillNanos, now).tryConsume(now)) {
+            log.warn("Login rate limit exceeded for username '{}'", username);
+            throw new TooManyRequestsException("Too many login attempts. Please try again later.");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login.rate-limit.cleanup-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        usernameBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        addressBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static TokenBucket bucket(Map<String, TokenBucket> buckets, String key, int capacity,
+                                      long refillNanos, long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(capacity, refillNanos, now));
+    }
+}
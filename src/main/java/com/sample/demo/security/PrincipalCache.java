@@ -0,0 +1,86 @@
+package com.sample.demo.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username, so that
+ * JWT-authenticated requests do not load the user from the database every time.
+ * Entries expire after the configured TTL, which bounds staleness across nodes;
+ * changes made on this node are evicted immediately via {@link #evict(String)}.
+ */
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+                          @Value("${jwt.principal-cache.ttl:60000}") long ttlMillis,
+                          @Value("${jwt.principal-cache.max-size:10000}") int maxSize) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if the user no longer exists
+     */
+    public UserDetails get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAt() > now) {
+            return entry.principal();
+        }
+
+        UserDetails principal = userDetailsService.loadUserByUsername(username);
+        if (entries.size() >= maxSize) {
+            makeRoom(now);
+        }
+        entries.put(username, new Entry(principal, now + ttlMillis));
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal now and, when called inside a transaction, again after
+     * commit so that a request racing the transaction cannot re-cache the old state.
+     */
+    public void evict(String username) {
+        entries.remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.remove(username);
+                }
+            });
+        }
+    }
+
+    private void makeRoom(long now) {
+        entries.values().removeIf(e -> e.expiresAt() <= now);
+
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        log.debug("Principal cache trimmed to {} entries", entries.size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.sample.demo.security;
+
+/**
+ * Classic token bucket: holds up to capacity tokens and regains one every
+ * refillPeriod / capacity. Refill is computed lazily when the bucket is used.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final double nanosPerToken;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    TokenBucket(int capacity, long refillPeriodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.nanosPerToken = (double) refillPeriodNanos / capacity;
+        this.tokens = capacity;
+        this.lastRefillNanos = nowNanos;
+    }
+
+    synchronized boolean tryConsume(long nowNanos) {
+        refill(nowNanos);
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    synchronized boolean isFull(long nowNanos) {
+        refill(nowNanos);
+        return tokens >= capacity;
+    }
+
+    private void refill(long nowNanos) {
+        tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = nowNanos;
+    }
+}
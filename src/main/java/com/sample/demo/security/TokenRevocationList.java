@@ -0,0 +1,95 @@
+package com.sample.demo.security;
+
+import com.sample.demo.repository.RefreshTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of revoked sessions, consulted on every authenticated request and
+ * refresh. A Bloom filter answers the common "not revoked" case without touching the
+ * exact set, and neither touches the database. Rebuilt from refresh_tokens at startup
+ * and nightly, and topped up periodically with revocations made on other nodes.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final int expectedRevocations;
+    private final long syncIntervalMillis;
+
+    private volatile Snapshot snapshot;
+    private volatile LocalDateTime syncedAt;
+
+    private record Snapshot(BloomFilter filter, Set<String> sessionIds) {
+    }
+
+    public TokenRevocationList(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                               @Value("${jwt.revocation.sync-interval:30000}") long syncIntervalMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    public boolean isRevoked(String sessionId) {
+        Snapshot current = snapshot;
+        return current.filter().mightContain(sessionId) && current.sessionIds().contains(sessionId);
+    }
+
+    public synchronized void revoke(String sessionId) {
+        add(snapshot, sessionId);
+    }
+
+    /**
+     * Replaces the filter with one built from the sessions still revoked in the store,
+     * which also drops sessions whose tokens have all expired.
+     */
+    @PostConstruct
+    @Scheduled(cron = "${jwt.revocation.rebuild-cron:0 30 3 * * ?}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> revoked = refreshTokenRepository.findRevokedSessionIds(now);
+
+        Snapshot rebuilt = new Snapshot(
+                new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2), FALSE_POSITIVE_RATE),
+                ConcurrentHashMap.newKeySet());
+        revoked.forEach(sessionId -> add(rebuilt, sessionId));
+
+        snapshot = rebuilt;
+        syncedAt = now;
+        log.info("Token revocation list rebuilt with {} revoked sessions", revoked.size());
+    }
+
+    /**
+     * Picks up sessions revoked on other nodes. The window overlaps the previous one so
+     * revocations committed late are not missed.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:30000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> revoked = refreshTokenRepository.findSessionIdsRevokedSince(
+                syncedAt.minusNanos(syncIntervalMillis * 1_000_000));
+
+        synchronized (this) {
+            revoked.forEach(sessionId -> add(snapshot, sessionId));
+            syncedAt = now;
+        }
+    }
+
+    // Exact set first, so a filter hit always finds the session in the set
+    private static void add(Snapshot target, String sessionId) {
+        target.sessionIds().add(sessionId);
+        target.filter().put(sessionId);
+    }
+}
@@ -0,0 +1,49 @@
+package com.sample.demo.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Typed key of a system_config row. Adding a setting means adding a constant here and
+ * to {@link #ALL}; the row is seeded with the default value at startup.
+ */
+public final class ConfigKey<T> {
+
+    public static final ConfigKey<Integer> DELIVERY_PERIOD_DAYS =
+            new ConfigKey<>("delivery.period.days", Integer.class, 7, Integer::valueOf);
+
+    static final List<ConfigKey<?>> ALL = List.of(DELIVERY_PERIOD_DAYS);
+
+    private final String name;
+    private final Class<T> type;
+    private final T defaultValue;
+    private final Function<String, T> parser;
+
+    private ConfigKey(String name, Class<T> type, T defaultValue, Function<String, T> parser) {
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public T getDefaultValue() {
+        return defaultValue;
+    }
+
+    T cast(Object value) {
+        return type.cast(value);
+    }
+
+    T parse(String raw) {
+        return parser.apply(raw);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,158 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.ResourceNotFoundException;
+import com.sample.demo.model.entity.JobCheckpoint;
+import com.sample.demo.model.enums.OrderStatus;
+import com.sample.demo.repository.DeliveryRepository;
+import com.sample.demo.repository.DeliveryRepository.DueDelivery;
+import com.sample.demo.repository.JobCheckpointRepository;
+import com.sample.demo.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Marks every open delivery due up to a date as completed and its order as FULFILLED,
+ * so days missed while no node was running are caught up by the next run.
+ * Work is done in chunks in (scheduledDate, id) order: each chunk is one select of open
+ * deliveries plus one bulk update per table, committed together with the job checkpoint,
+ * so a crashed run resumes from the date of the last committed chunk. The checkpoint row
+ * is locked for the chunk, which keeps runs on different nodes from working the same rows.
+ * Deliveries are only ever scheduled for a future date, so nothing new appears before the
+ * checkpoint date. The checkpoint date itself is scanned again, though: pooled ids are
+ * not ordered across nodes, and a delivery for that date can commit after a run, e.g.
+ * when it was scheduled just before midnight.
+ */
+@Slf4j
+@Service
+public class DeliveryFulfillmentService {
+
+    public static final String CHECKPOINT = "delivery.fulfillment";
+
+    private final DeliveryRepository deliveryRepository;
+    private final OrderRepository orderRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Counter fulfilledCounter;
+    private final int chunkSize;
+    private final long pauseMillis;
+
+    public DeliveryFulfillmentService(DeliveryRepository deliveryRepository,
+                                      OrderRepository orderRepository,
+                                      JobCheckpointRepository checkpointRepository,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${deliveries.fulfillment.chunk-size:1000}") int chunkSize,
+                                      @Value("${deliveries.fulfillment.pause:0}") long pauseMillis) {
+        this.deliveryRepository = deliveryRepository;
+        this.orderRepository = orderRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.fulfilledCounter = Counter.builder("deliveries.fulfilled")
+                .description("Deliveries marked completed by the fulfillment job")
+                .register(meterRegistry);
+        this.chunkSize = chunkSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        if (!checkpointRepository.existsById(CHECKPOINT)) {
+            try {
+                checkpointRepository.save(new JobCheckpoint(CHECKPOINT, LocalDate.EPOCH, 0L, null));
+                log.info("Initialized delivery fulfillment checkpoint");
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Delivery fulfillment checkpoint was initialized by another node");
+            }
+        }
+    }
+
+    /**
+     * @param upTo last scheduled date to fulfill, inclusive
+     * @return number of deliveries fulfilled
+     */
+    public int fulfillDueDeliveries(LocalDate upTo) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int fulfilled = 0;
+        int chunks = 0;
+
+        while (true) {
+            ChunkResult chunk = transactionTemplate.execute(status -> fulfillChunk(upTo));
+            if (chunk.size() == 0) {
+                break;
+            }
+            chunks++;
+            fulfilled += chunk.completed();
+            fulfilledCounter.increment(chunk.completed());
+            log.info("Fulfillment up to {}: chunk {} completed {} deliveries ({} so far), checkpoint at {}",
+                    upTo, chunks, chunk.completed(), fulfilled, chunk.lastDate());
+
+            if (chunk.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        sample.stop(Timer.builder("deliveries.fulfillment.run")
+                .description("Duration of a full delivery fulfillment run")
+                .register(meterRegistry));
+        log.info("Fulfilled {} deliveries due up to {} in {} chunks", fulfilled, upTo, chunks);
+        return fulfilled;
+    }
+
+    private ChunkResult fulfillChunk(LocalDate upTo) {
+        JobCheckpoint checkpoint = checkpointRepository.findByNameForUpdate(CHECKPOINT)
+                .orElseThrow(() -> new ResourceNotFoundException("JobCheckpoint", "name", CHECKPOINT));
+
+        List<DueDelivery> due = deliveryRepository.findDueDeliveries(
+                checkpoint.getLastDate(), upTo, PageRequest.of(0, chunkSize));
+        if (due.isEmpty()) {
+            return new ChunkResult(0, 0, checkpoint.getLastDate());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int completed = deliveryRepository.markCompleted(due.stream().map(DueDelivery::getId).toList(), now);
+        orderRepository.updateStatus(due.stream().map(DueDelivery::getOrderId).toList(), OrderStatus.FULFILLED, now);
+
+        DueDelivery last = due.get(due.size() - 1);
+        checkpoint.setLastDate(last.getScheduledDate());
+        checkpoint.setLastId(last.getId());
+        checkpointRepository.save(checkpoint);
+
+        return new ChunkResult(due.size(), completed, last.getScheduledDate());
+    }
+
+    /**
+     * Spaces out chunks so a large backlog drains at a steady rate.
+     *
+     * @return false if interrupted, in which case the run stops after the committed chunk
+     */
+    private boolean pause() {
+        if (pauseMillis <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record ChunkResult(int size, int completed, LocalDate lastDate) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.Truck;
+import com.sample.demo.model.entity.TruckDaySlot;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * In-memory residual capacity per truck per day for a delivery window.
+ * Built once from the fleet and the truck day slots booked in the window, so every
+ * day of the window can be answered without going back to the database.
+ */
+public class FleetSchedule {
+
+    private final List<Truck> fleet;
+    private final Map<LocalDate, Map<Long, Double>> reservedVolumeByDate;
+
+    private FleetSchedule(List<Truck> fleet, Map<LocalDate, Map<Long, Double>> reservedVolumeByDate) {
+        this.fleet = fleet;
+        this.reservedVolumeByDate = reservedVolumeByDate;
+    }
+
+    /**
+     * @param fleet trucks to consider
+     * @param slots truck day slots booked in the window
+     */
+    public static FleetSchedule of(List<Truck> fleet, List<TruckDaySlot> slots) {
+        Map<LocalDate, Map<Long, Double>> reservedVolumeByDate = new HashMap<>();
+        for (TruckDaySlot slot : slots) {
+            reservedVolumeByDate.computeIfAbsent(slot.getSlotDate(), d -> new HashMap<>())
+                    .merge(slot.getTruck().getId(), slot.getReservedVolume(), Double::sum);
+        }
+        return new FleetSchedule(fleet, reservedVolumeByDate);
+    }
+
+    public double getResidualCapacity(Truck truck, LocalDate date) {
+        double reserved = reservedVolumeByDate.getOrDefault(date, Collections.emptyMap())
+                .getOrDefault(truck.getId(), 0.0);
+        return Math.max(0.0, truck.getContainerVolume() - reserved);
+    }
+
+    public List<Truck> getTrucksWithCapacity(LocalDate date) {
+        return fleet.stream()
+                .filter(t -> getResidualCapacity(t, date) > 0.0)
+                .toList();
+    }
+
+    public double getFreeCapacity(LocalDate date) {
+        return fleet.stream()
+                .mapToDouble(t -> getResidualCapacity(t, date))
+                .sum();
+    }
+
+    public boolean canAccommodate(LocalDate date, double requiredVolume) {
+        return getFreeCapacity(date) >= requiredVolume;
+    }
+}
@@ -0,0 +1,497 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.HotStockAllotment;
+import com.sample.demo.model.entity.HotStockIntent;
+import com.sample.demo.model.entity.Item;
+import com.sample.demo.model.enums.HotStockIntentType;
+import com.sample.demo.model.enums.MovementType;
+import com.sample.demo.repository.HotStockAllotmentRepository;
+import com.sample.demo.repository.HotStockAllotmentRepository.PooledQuantity;
+import com.sample.demo.repository.HotStockIntentRepository;
+import com.sample.demo.repository.ItemRepository;
+import com.sample.demo.repository.ItemRepositoryCustom.StockShortage;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Stock for items flagged hotSku, served without locking the item row per order.
+ * Each node leases a block of an item's available stock (an allotment, counted in the
+ * item's reservedQuantity) in a short transaction of its own, the same way
+ * OrderNumberAllocator leases order numbers, and hands it out from a StripedCounter.
+ * Every change is appended to hot_stock_intents in the caller's transaction, and a
+ * per-node flush folds the intents into the item and allotment rows once a second:
+ * shipments become one quantity update and one journal entry per order instead of a
+ * row lock per order. If a node dies, its allotments stop being renewed and the
+ * recovery job applies their intents and gives the unused units back to the item.
+ * The flush also renews the leases, so it runs on a thread of its own rather than on
+ * the shared @Scheduled thread, where a long job could hold it up past the lease.
+ */
+@Slf4j
+@Service
+public class HotStockService {
+
+    private final HotStockAllotmentRepository allotmentRepository;
+    private final HotStockIntentRepository intentRepository;
+    private final ItemRepository itemRepository;
+    private final InventoryJournalService journalService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final String nodeId;
+    private final int blockSize;
+    private final long leaseMillis;
+    private final long flushIntervalMillis;
+    private final ScheduledExecutorService flushExecutor;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+
+    /**
+     * This node's share of one item: the counter holds the units not handed out yet.
+     */
+    private static final class Slot {
+        private final Long allotmentId;
+        private final StripedCounter counter = new StripedCounter();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile long flushedAt = System.currentTimeMillis();
+
+        private Slot(Long allotmentId) {
+            this.allotmentId = allotmentId;
+        }
+    }
+
+    private record Refill(String itemName, int granted) {
+    }
+
+    private enum Fold {
+        KEPT,
+        RETIRED,
+        GONE
+    }
+
+    public HotStockService(HotStockAllotmentRepository allotmentRepository,
+                           HotStockIntentRepository intentRepository,
+                           ItemRepository itemRepository,
+                           InventoryJournalService journalService,
+                           SchedulerLockService lockService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${inventory.hot-sku.block-size:100}") int blockSize,
+                           @Value("${inventory.hot-sku.lease:30000}") long leaseMillis,
+                           @Value("${inventory.hot-sku.flush-interval:1000}") long flushIntervalMillis) {
+        this.allotmentRepository = allotmentRepository;
+        this.intentRepository = intentRepository;
+        this.itemRepository = itemRepository;
+        this.journalService = journalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = lockService.getNodeId();
+        this.blockSize = blockSize;
+        this.leaseMillis = leaseMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hot-stock-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gives back allotments a previous run under the same node id left behind; their
+     * counters died with it, and starts the flush.
+     */
+    @PostConstruct
+    public void initialize() {
+        for (HotStockAllotment allotment : allotmentRepository.findByNodeId(nodeId)) {
+            retire(allotment);
+        }
+        flushExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                // An exception escaping here would cancel every later flush
+                log.error("Hot stock flush failed", e);
+            }
+        }, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Holds hot stock for an order. Nothing is held if any item falls short.
+     *
+     * @param quantities units to hold per item id
+     * @return every item this node could not cover, empty if held
+     */
+    @Transactional
+    public List<StockShortage> reserve(SortedMap<Long, Integer> quantities, String reference) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        Map<Slot, Integer> taken = new HashMap<>();
+        List<StockShortage> shortages = new ArrayList<>();
+
+        // Every take (and refill) comes before the first append; see appendIntents
+        quantities.forEach((itemId, quantity) -> {
+            Slot slot = slotFor(itemId);
+            StockShortage shortage = slot != null
+                    ? take(slot, itemId, quantity)
+                    : new StockShortage(itemId, null, 0, quantity);
+            if (shortage == null) {
+                taken.put(slot, quantity);
+            } else {
+                shortages.add(shortage);
+            }
+        });
+
+        if (!shortages.isEmpty()) {
+            taken.forEach((slot, quantity) -> slot.counter.add(quantity));
+            return shortages;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    taken.keySet().forEach(slot -> slot.dirty.set(true));
+                } else {
+                    taken.forEach((slot, quantity) -> slot.counter.add(quantity));
+                }
+            }
+        });
+        appendIntents(quantities, HotStockIntentType.RESERVE, reference);
+        return List.of();
+    }
+
+    /**
+     * Gives held hot stock back to this node's counters once the caller commits.
+     *
+     * @param quantities units to give back per item id
+     */
+    @Transactional
+    public void release(SortedMap<Long, Integer> quantities, String reference) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        Map<Slot, Integer> released = appendIntents(quantities, HotStockIntentType.RELEASE, reference);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                released.forEach((slot, quantity) -> {
+                    slot.counter.add(quantity);
+                    slot.dirty.set(true);
+                });
+            }
+        });
+    }
+
+    /**
+     * Takes hot stock out of the warehouse. Units the order already holds are shipped as
+     * they are; anything beyond that is taken from the counters first.
+     *
+     * @param quantities units to ship per item id
+     * @param held       units the order holds per item id
+     * @return every item whose uncovered part this node could not cover, empty if applied
+     */
+    @Transactional
+    public List<StockShortage> ship(SortedMap<Long, Integer> quantities, Map<Long, Integer> held, String reference) {
+        SortedMap<Long, Integer> uncovered = new TreeMap<>();
+        quantities.forEach((itemId, quantity) -> {
+            int missing = quantity - held.getOrDefault(itemId, 0);
+            if (missing > 0) {
+                uncovered.put(itemId, missing);
+            }
+        });
+
+        List<StockShortage> shortages = reserve(uncovered, reference);
+        if (!shortages.isEmpty()) {
+            return shortages;
+        }
+
+        Map<Slot, Integer> shipped = appendIntents(quantities, HotStockIntentType.SHIP, reference);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                shipped.keySet().forEach(slot -> slot.dirty.set(true));
+            }
+        });
+        return List.of();
+    }
+
+    /**
+     * @return units of each hot item among the given ones leased to nodes and not handed out,
+     * as of their last flush, read with one grouped query; items with none are left out
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getPooledQuantities(Collection<Item> items) {
+        Set<Long> hotItemIds = items.stream()
+                .filter(Item::isHot)
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        if (hotItemIds.isEmpty()) {
+            return Map.of();
+        }
+        return allotmentRepository.sumQuantityByItemIdIn(hotItemIds).stream()
+                .collect(Collectors.toMap(PooledQuantity::getItemId, pooled -> pooled.getQuantity().intValue()));
+    }
+
+    /**
+     * Applies this node's pending intents and renews its allotments; allotments with
+     * nothing pending are only renewed every third of the lease. Allotments of items
+     * that are no longer hot are given back, and so is stock piling up above two blocks
+     * on this node, e.g. from cancellations of orders reserved on other nodes.
+     */
+    public void flush() {
+        long renewAfter = leaseMillis / 3;
+        slots.forEach((itemId, slot) -> {
+            boolean dirty = slot.dirty.getAndSet(false);
+            long surplus = slot.counter.sum() - 2L * blockSize;
+            int returned = surplus > 0 && slot.counter.tryTake(surplus + blockSize) ? (int) surplus + blockSize : 0;
+            if (!dirty && returned == 0 && System.currentTimeMillis() - slot.flushedAt < renewAfter) {
+                return;
+            }
+            try {
+                Fold result = transactionTemplate.execute(status -> fold(slot.allotmentId, itemId, returned, false));
+                if (result == Fold.KEPT) {
+                    slot.flushedAt = System.currentTimeMillis();
+                } else {
+                    // Appends still racing on the old counter now fail the foreign key
+                    slots.remove(itemId, slot);
+                    log.info("Hot stock allotment {} of item {} {}; dropped its counter", slot.allotmentId, itemId,
+                            result == Fold.RETIRED ? "was given back" : "was taken back by recovery");
+                }
+            } catch (Exception e) {
+                slot.counter.add(returned);
+                slot.dirty.compareAndSet(false, dirty);
+                log.warn("Failed to flush hot stock of item {}", itemId, e);
+            }
+        });
+    }
+
+    /**
+     * Folds the allotments of nodes that stopped renewing them back into their items.
+     *
+     * @return number of allotments recovered
+     */
+    public int recoverExpired() {
+        int recovered = 0;
+        for (HotStockAllotment allotment : allotmentRepository.findByLeaseUntilBefore(LocalDateTime.now())) {
+            if (retire(allotment)) {
+                recovered++;
+                log.info("Recovered hot stock allotment {} of item {} from node {}",
+                        allotment.getId(), allotment.getItemId(), allotment.getNodeId());
+            }
+        }
+        return recovered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            flushExecutor.awaitTermination(leaseMillis / 3, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        slots.forEach((itemId, slot) -> {
+            try {
+                transactionTemplate.execute(status -> fold(slot.allotmentId, itemId, 0, true));
+            } catch (Exception e) {
+                log.warn("Failed to give back hot stock of item {}; recovery takes it back after the lease", itemId, e);
+            }
+        });
+        slots.clear();
+    }
+
+    private boolean retire(HotStockAllotment allotment) {
+        try {
+            return transactionTemplate.execute(status ->
+                    fold(allotment.getId(), allotment.getItemId(), 0, true)) == Fold.RETIRED;
+        } catch (Exception e) {
+            log.warn("Failed to retire hot stock allotment {}", allotment.getId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Applies an allotment's intents to the item and allotment rows and deletes them.
+     * Locks the item row before the allotment row, like refill, so the two cannot
+     * deadlock; appends only share-lock the allotment row and never wait on the item.
+     *
+     * @param returned units taken off the counter to give back to the item
+     * @param retire   give back everything left and delete the allotment; also done
+     *                 when the item is gone or no longer hot
+     */
+    private Fold fold(Long allotmentId, Long itemId, int returned, boolean retire) {
+        Item item = itemRepository.findByIdForUpdate(itemId).orElse(null);
+        HotStockAllotment allotment = allotmentRepository.findByIdForUpdate(allotmentId).orElse(null);
+        if (allotment == null) {
+            return Fold.GONE;
+        }
+        retire = retire || item == null || !item.isHot();
+
+        List<HotStockIntent> intents = intentRepository.findByAllotmentIdOrderById(allotmentId);
+        int remaining = allotment.getQuantity();
+        int shipped = 0;
+        for (HotStockIntent intent : intents) {
+            switch (intent.getType()) {
+                case REFILL, RELEASE -> remaining += intent.getQuantity();
+                case RESERVE -> remaining -= intent.getQuantity();
+                case SHIP -> {
+                    shipped += intent.getQuantity();
+                    journalService.record(itemId, -intent.getQuantity(), MovementType.SHIPMENT, intent.getReference());
+                }
+            }
+        }
+        remaining -= returned;
+        int givenBack = retire ? returned + remaining : returned;
+
+        if (item != null && (shipped > 0 || givenBack > 0)) {
+            item.setQuantity(item.getQuantity() - shipped);
+            item.setReservedQuantity(item.getReservedQuantity() - shipped - givenBack);
+            itemRepository.save(item);
+        }
+        if (!intents.isEmpty()) {
+            intentRepository.deleteFlushed(intents.stream().map(HotStockIntent::getId).toList());
+        }
+
+        if (retire) {
+            allotmentRepository.deleteById(allotmentId);
+        } else {
+            allotment.setQuantity(remaining);
+            allotment.setLeaseUntil(LocalDateTime.now().plusNanos(leaseMillis * 1_000_000));
+            allotmentRepository.save(allotment);
+        }
+
+        log.debug("Flushed {} hot stock intents of item {}: shipped {}, gave back {}, {} left",
+                intents.size(), itemId, shipped, givenBack, retire ? 0 : remaining);
+        return retire ? Fold.RETIRED : Fold.KEPT;
+    }
+
+    /**
+     * @return null if taken, otherwise the shortage after pulling in all free stock
+     */
+    private StockShortage take(Slot slot, Long itemId, int quantity) {
+        if (slot.counter.tryTake(quantity)) {
+            return null;
+        }
+        synchronized (slot) {
+            if (slot.counter.tryTake(quantity)) {
+                return null;
+            }
+            Refill refill = refill(slot, itemId, quantity + blockSize);
+            slot.counter.add(refill.granted());
+            if (slot.counter.tryTake(quantity)) {
+                return null;
+            }
+            return new StockShortage(itemId, refill.itemName(), (int) slot.counter.sum(), quantity);
+        }
+    }
+
+    /**
+     * Leases up to the wanted units of the item's free stock to this node, committed on
+     * its own so the item row is locked once per block rather than once per order.
+     */
+    private Refill refill(Slot slot, Long itemId, int wanted) {
+        Refill refill = newTransactionTemplate.execute(status -> {
+            Item item = itemRepository.findByIdForUpdate(itemId).orElse(null);
+            if (item == null) {
+                return new Refill(null, 0);
+            }
+            int granted = Math.min(item.getAvailableToPromise(), wanted);
+            if (granted > 0) {
+                item.setReservedQuantity(item.getReservedQuantity() + granted);
+                itemRepository.save(item);
+                intentRepository.save(new HotStockIntent(
+                        allotmentRepository.getReferenceById(slot.allotmentId), HotStockIntentType.REFILL, granted, null));
+            }
+            return new Refill(item.getItemName(), granted);
+        });
+
+        if (refill.granted() > 0) {
+            slot.dirty.set(true);
+            log.info("Leased {} units of hot item {} to node {}", refill.granted(), itemId, nodeId);
+        }
+        return refill;
+    }
+
+    /**
+     * Appends one intent per item. A caller must take everything it needs before its
+     * first append: an append share-locks the allotment row until commit, and a refill
+     * of the same allotment in its own transaction would then wait on the caller.
+     */
+    private Map<Slot, Integer> appendIntents(SortedMap<Long, Integer> quantities, HotStockIntentType type, String reference) {
+        Map<Slot, Integer> appended = new HashMap<>();
+        List<HotStockIntent> intents = new ArrayList<>();
+        quantities.forEach((itemId, quantity) -> {
+            if (quantity <= 0) {
+                return;
+            }
+            Slot slot = slotFor(itemId);
+            if (slot == null) {
+                throw new IllegalStateException("Item " + itemId + " no longer exists");
+            }
+            appended.merge(slot, quantity, Integer::sum);
+            intents.add(new HotStockIntent(allotmentRepository.getReferenceById(slot.allotmentId), type, quantity, reference));
+        });
+        intentRepository.saveAll(intents);
+        return appended;
+    }
+
+    /**
+     * @return this node's slot for the item, opening an empty allotment on first use;
+     *         null if the item does not exist
+     */
+    private Slot slotFor(Long itemId) {
+        Slot slot = slots.get(itemId);
+        if (slot != null) {
+            return slot;
+        }
+        synchronized (slots) {
+            slot = slots.get(itemId);
+            if (slot == null) {
+                Long allotmentId = openAllotment(itemId);
+                if (allotmentId == null) {
+                    return null;
+                }
+                slot = new Slot(allotmentId);
+                slots.put(itemId, slot);
+            }
+            return slot;
+        }
+    }
+
+    private Long openAllotment(Long itemId) {
+        return newTransactionTemplate.execute(status -> {
+            if (!itemRepository.existsById(itemId)) {
+                return null;
+            }
+            return allotmentRepository.findByNodeIdAndItemId(nodeId, itemId)
+                    .orElseGet(() -> {
+                        try {
+                            return allotmentRepository.saveAndFlush(new HotStockAllotment(
+                                    nodeId, itemId, LocalDateTime.now().plusNanos(leaseMillis * 1_000_000)));
+                        } catch (DataIntegrityViolationException e) {
+                            throw new IllegalStateException("Node id " + nodeId + " is used by more than one instance", e);
+                        }
+                    })
+                    .getId();
+        });
+    }
+}
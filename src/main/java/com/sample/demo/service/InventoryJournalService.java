@@ -0,0 +1,119 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.InventoryMovement;
+import com.sample.demo.model.entity.InventorySnapshot;
+import com.sample.demo.model.enums.MovementType;
+import com.sample.demo.repository.InventoryMovementRepository;
+import com.sample.demo.repository.InventoryMovementRepository.ItemDelta;
+import com.sample.demo.repository.InventorySnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Journal of every change to on-hand stock. Writers append a movement in the same
+ * transaction that changes Item.quantity; a scheduled job folds the journal into
+ * per-item snapshots, so the stock of an item at any time is its latest snapshot before
+ * that time plus the few movements after it.
+ * Snapshots only cover movements older than the settle window, which leaves time for
+ * transactions that appended earlier rows to commit before they are folded in.
+ */
+@Slf4j
+@Service
+public class InventoryJournalService {
+
+    private final InventoryMovementRepository movementRepository;
+    private final InventorySnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long settleMillis;
+    private final int batchSize;
+
+    public InventoryJournalService(InventoryMovementRepository movementRepository,
+                                   InventorySnapshotRepository snapshotRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${inventory.snapshots.settle:60000}") long settleMillis,
+                                   @Value("${inventory.snapshots.batch-size:1000}") int batchSize) {
+        this.movementRepository = movementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleMillis = settleMillis;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public void record(Long itemId, int delta, MovementType type, String reference) {
+        if (delta != 0) {
+            movementRepository.save(new InventoryMovement(itemId, delta, type, reference));
+        }
+    }
+
+    /**
+     * @param deltas signed quantity change per item id
+     */
+    @Transactional
+    public void recordAll(Map<Long, Integer> deltas, MovementType type, String reference) {
+        List<InventoryMovement> movements = deltas.entrySet().stream()
+                .filter(e -> e.getValue() != 0)
+                .map(e -> new InventoryMovement(e.getKey(), e.getValue(), type, reference))
+                .toList();
+        movementRepository.saveAll(movements);
+    }
+
+    @Transactional(readOnly = true)
+    public int getStockAt(Long itemId, LocalDateTime at) {
+        Optional<InventorySnapshot> snapshot =
+                snapshotRepository.findFirstByItemIdAndTakenAtLessThanEqualOrderByTakenAtDesc(itemId, at);
+
+        int base = snapshot.map(InventorySnapshot::getQuantity).orElse(0);
+        LocalDateTime from = snapshot.map(InventorySnapshot::getTakenAt).orElse(LocalDate.EPOCH.atStartOfDay());
+        return (int) (base + movementRepository.sumDelta(itemId, from, at));
+    }
+
+    /**
+     * Snapshots every item with movements since the last run. The run commits as a
+     * whole, since the next one starts from the newest snapshot time.
+     *
+     * @return number of snapshots written
+     */
+    public int takeSnapshots() {
+        LocalDateTime to = LocalDateTime.now().minusNanos(settleMillis * 1_000_000);
+
+        int taken = transactionTemplate.execute(status -> {
+            LocalDateTime from = snapshotRepository.findLastTakenAt().orElse(LocalDate.EPOCH.atStartOfDay());
+            if (!to.isAfter(from)) {
+                return 0;
+            }
+            List<ItemDelta> deltas = movementRepository.sumDeltaByItem(from, to);
+            for (int start = 0; start < deltas.size(); start += batchSize) {
+                snapshot(deltas.subList(start, Math.min(start + batchSize, deltas.size())), to);
+            }
+            return deltas.size();
+        });
+
+        log.info("Took {} inventory snapshots as of {}", taken, to);
+        return taken;
+    }
+
+    private void snapshot(List<ItemDelta> deltas, LocalDateTime takenAt) {
+        Map<Long, InventorySnapshot> latest = snapshotRepository
+                .findLatestByItemIdIn(deltas.stream().map(ItemDelta::getItemId).toList()).stream()
+                .collect(Collectors.toMap(InventorySnapshot::getItemId, Function.identity()));
+
+        List<InventorySnapshot> snapshots = new ArrayList<>(deltas.size());
+        for (ItemDelta delta : deltas) {
+            InventorySnapshot previous = latest.get(delta.getItemId());
+            int base = previous != null ? previous.getQuantity() : 0;
+            snapshots.add(new InventorySnapshot(delta.getItemId(), takenAt, (int) (base + delta.getDelta())));
+        }
+        snapshotRepository.saveAll(snapshots);
+    }
+}
@@ -0,0 +1,134 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.BadRequestException;
+import com.sample.demo.exception.ResourceNotFoundException;
+import com.sample.demo.model.entity.InventoryReservation;
+import com.sample.demo.model.entity.Order;
+import com.sample.demo.model.entity.OrderItem;
+import com.sample.demo.model.enums.ReservationStatus;
+import com.sample.demo.repository.InventoryReservationRepository;
+import com.sample.demo.repository.ItemRepository;
+import com.sample.demo.repository.ItemRepositoryCustom.StockShortage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Holds stock for orders between approval and delivery scheduling. Every hold is a row
+ * in the inventory_reservations ledger, and the running total per item is kept on the
+ * item row (reservedQuantity) in the same transaction, so available-to-promise is read
+ * straight off the item without summing the ledger.
+ * Items flagged hotSku hold from this node's share of their stock instead of the item
+ * row, see HotStockService; their holds still count in reservedQuantity.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryReservationService {
+
+    private final InventoryReservationRepository reservationRepository;
+    private final ItemRepository itemRepository;
+    private final HotStockService hotStockService;
+
+    /**
+     * @throws BadRequestException if any item cannot cover the order; nothing is held then
+     */
+    @Transactional
+    public void reserve(Order order) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        SortedMap<Long, Integer> hotQuantities = new TreeMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            (orderItem.getItem().isHot() ? hotQuantities : quantities)
+                    .merge(orderItem.getItem().getId(), orderItem.getRequestedQuantity(), Integer::sum);
+        }
+
+        // A shortage on either side throws, and the rollback undoes the other side
+        List<StockShortage> shortages = new ArrayList<>(itemRepository.reserveQuantities(quantities));
+        shortages.addAll(hotStockService.reserve(hotQuantities, order.getOrderNumber()));
+        if (!shortages.isEmpty()) {
+            for (StockShortage shortage : shortages) {
+                if (shortage.itemName() == null) {
+                    throw new ResourceNotFoundException("Item", "id", shortage.itemId());
+                }
+            }
+
+            log.warn("Cannot reserve stock for order {}: {}", order.getOrderNumber(), shortages);
+
+            throw new BadRequestException("Insufficient available inventory for " + shortages.stream()
+                    .map(s -> String.format("%s (Available: %d, Requested: %d)",
+                            s.itemName(), s.available(), s.requested()))
+                    .collect(Collectors.joining(", ")));
+        }
+
+        quantities.putAll(hotQuantities);
+        List<InventoryReservation> reservations = new ArrayList<>();
+        quantities.forEach((itemId, quantity) -> reservations.add(
+                new InventoryReservation(order, itemRepository.getReferenceById(itemId), quantity)));
+        reservationRepository.saveAll(reservations);
+
+        log.info("Reserved {} items for order {}", quantities.size(), order.getOrderNumber());
+    }
+
+    /**
+     * Gives back whatever the order still holds, e.g. when it is cancelled or declined.
+     */
+    @Transactional
+    public void release(Order order) {
+        close(order, ReservationStatus.RELEASED);
+    }
+
+    /**
+     * Ends the order's holds because the stock itself is about to be taken out. Holds on
+     * hot items stay in reservedQuantity until HotStockService ships them.
+     *
+     * @return units the order held per item id
+     */
+    @Transactional
+    public Map<Long, Integer> consume(Order order) {
+        return close(order, ReservationStatus.CONSUMED);
+    }
+
+    /**
+     * @return units the order currently holds per item id
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getHeldQuantities(Order order) {
+        Map<Long, Integer> held = new HashMap<>();
+        for (InventoryReservation reservation
+                : reservationRepository.findByOrderIdAndStatus(order.getId(), ReservationStatus.ACTIVE)) {
+            held.merge(reservation.getItem().getId(), reservation.getQuantity(), Integer::sum);
+        }
+        return held;
+    }
+
+    private Map<Long, Integer> close(Order order, ReservationStatus status) {
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        SortedMap<Long, Integer> hotQuantities = new TreeMap<>();
+        for (InventoryReservation reservation
+                : reservationRepository.findByOrderIdAndStatus(order.getId(), ReservationStatus.ACTIVE)) {
+            (reservation.getItem().isHot() ? hotQuantities : quantities)
+                    .merge(reservation.getItem().getId(), reservation.getQuantity(), Integer::sum);
+        }
+        if (quantities.isEmpty() && hotQuantities.isEmpty()) {
+            return Map.of();
+        }
+
+        if (status == ReservationStatus.RELEASED) {
+            hotStockService.release(hotQuantities, order.getOrderNumber());
+        }
+        itemRepository.releaseQuantities(quantities);
+        reservationRepository.updateStatus(order.getId(), ReservationStatus.ACTIVE, status, LocalDateTime.now());
+
+        log.info("Reservations of order {} {} for {} items",
+                order.getOrderNumber(), status.name().toLowerCase(), quantities.size() + hotQuantities.size());
+
+        Map<Long, Integer> held = new HashMap<>(quantities);
+        held.putAll(hotQuantities);
+        return held;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in an item search sorted by id.
+ */
+record ItemCursor(Long id) {
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ItemCursor decode(String cursor) {
+        try {
+            return new ItemCursor(Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.demo.dto.item.ItemRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a catalog import one chunk at a time, so the input is never held in memory.
+ * NDJSON carries one item per line with the fields of ItemRequest. CSV carries one item
+ * per record (sku,itemName,quantity,unitPrice,packageVolume,description) as RFC 4180
+ * describes it: a field containing commas, quotes or line breaks is quoted, with "" for
+ * a quote inside it. A malformed row fails only itself.
+ */
+class ItemImportReader {
+
+    /**
+     * @param item the parsed item, possibly partial when error is set; null for unparseable JSON
+     */
+    record Row(int line, ItemRequest item, String error) {
+    }
+
+    private static final int CSV_COLUMNS = 6;
+
+    private final BufferedReader reader;
+    private final ItemImportService.Format format;
+    private final ObjectMapper objectMapper;
+
+    private int lineNumber;
+
+    ItemImportReader(BufferedReader reader, ItemImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return up to chunkSize rows, empty once the input is exhausted
+     */
+    List<Row> nextChunk(int chunkSize) throws IOException {
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize) {
+            Row row = format == ItemImportService.Format.CSV ? nextCsvItem() : nextJsonItem();
+            if (row == null) {
+                break;
+            }
+            chunk.add(row);
+        }
+        return chunk;
+    }
+
+    private Row nextJsonItem() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return new Row(lineNumber, objectMapper.readValue(line, ItemRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private Row nextCsvItem() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            int firstLine = lineNumber;
+            List<String> fields;
+            try {
+                fields = readCsvRecord(line);
+            } catch (IllegalArgumentException e) {
+                return new Row(firstLine, null, "Malformed row: " + e.getMessage());
+            }
+            if (firstLine == 1 && fields.get(0).equalsIgnoreCase("sku")) {
+                continue;
+            }
+
+            ItemRequest item = new ItemRequest();
+            item.setSku(fields.get(0));
+            if (fields.size() < CSV_COLUMNS - 1 || fields.size() > CSV_COLUMNS) {
+                return new Row(firstLine, item, "expected columns sku,itemName,quantity,unitPrice,packageVolume,description;"
+                        + " quote fields that contain commas");
+            }
+            try {
+                item.setItemName(fields.get(1));
+                item.setQuantity(Integer.valueOf(fields.get(2)));
+                item.setUnitPrice(new BigDecimal(fields.get(3)));
+                item.setPackageVolume(Double.valueOf(fields.get(4)));
+                item.setDescription(fields.size() == CSV_COLUMNS && !fields.get(5).isEmpty() ? fields.get(5) : null);
+                return new Row(firstLine, item, null);
+            } catch (NumberFormatException e) {
+                return new Row(firstLine, item, "Malformed row: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Splits the record starting on the given line, reading further lines while a quoted
+     * field is open. Unquoted fields are trimmed; quoted ones are kept as they are.
+     *
+     * @throws IllegalArgumentException if a quote is misplaced or never closed
+     */
+    private List<String> readCsvRecord(String line) throws IOException {
+        List<String> fields = new ArrayList<>(CSV_COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!inQuotes) {
+                    fields.add(quoted ? field.toString() : field.toString().trim());
+                    return fields;
+                }
+                line = readLine();
+                if (line == null) {
+                    throw new IllegalArgumentException("quoted field is not closed");
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+
+            char c = line.charAt(i++);
+            if (inQuotes) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == ',') {
+                fields.add(quoted ? field.toString() : field.toString().trim());
+                field.setLength(0);
+                quoted = false;
+            } else if (quoted) {
+                if (!Character.isWhitespace(c)) {
+                    throw new IllegalArgumentException("unexpected text after a quoted field in column " + (fields.size() + 1));
+                }
+            } else if (c == '"') {
+                if (!field.toString().isBlank()) {
+                    throw new IllegalArgumentException("unexpected quote inside column " + (fields.size() + 1));
+                }
+                field.setLength(0);
+                inQuotes = true;
+                quoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+}
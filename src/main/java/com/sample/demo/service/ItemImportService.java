@@ -0,0 +1,253 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.demo.dto.item.ItemImportResult;
+import com.sample.demo.dto.item.ItemImportResult.Action;
+import com.sample.demo.dto.item.ItemImportSummary;
+import com.sample.demo.dto.item.ItemRequest;
+import com.sample.demo.model.entity.Item;
+import com.sample.demo.model.enums.MovementType;
+import com.sample.demo.repository.ItemRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog sync from the ERP: creates or updates items keyed by SKU.
+ * Input is streamed and processed in chunks. Each chunk locks the stored items it
+ * matches with one query, in id order, and writes its inserts and updates as JDBC
+ * batches in its own transaction; a failed chunk fails only its own rows. Rows whose
+ * fields all match the stored item are not written. Quantity changes are journaled as
+ * IMPORT movements under one reference per run. A row that would take an item's quantity
+ * below the units reserved for approved orders fails. hotSku is an operational flag and is
+ * left as it is. A dry run reads the same way and reports what would change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final ItemRepository itemRepository;
+    private final InventoryJournalService inventoryJournalService;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${items.import.chunk-size:1000}")
+    private int chunkSize;
+
+    private record Outcome(ItemImportReader.Row row, Action action, Item item, List<String> changes, String error) {
+    }
+
+    public ItemImportSummary importItems(InputStream input, Format format, boolean dryRun,
+                                         Consumer<List<ItemImportResult>> results) throws IOException {
+        String reference = "IMPORT-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        log.info("Importing {} item catalog{} as {}", format, dryRun ? " (dry run)" : "", reference);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        ItemImportReader reader = new ItemImportReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format, objectMapper);
+
+        long start = System.nanoTime();
+        Map<Action, Integer> counts = new EnumMap<>(Action.class);
+        int total = 0;
+
+        List<ItemImportReader.Row> chunk;
+        while (!(chunk = reader.nextChunk(chunkSize)).isEmpty()) {
+            List<ItemImportResult> chunkResults = importChunk(chunk, dryRun, reference, transaction);
+            for (ItemImportResult result : chunkResults) {
+                counts.merge(result.getAction(), 1, Integer::sum);
+            }
+            results.accept(chunkResults);
+            total += chunk.size();
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        ItemImportSummary summary = ItemImportSummary.builder()
+                .dryRun(dryRun)
+                .totalRows(total)
+                .createdItems(counts.getOrDefault(Action.CREATED, 0))
+                .updatedItems(counts.getOrDefault(Action.UPDATED, 0))
+                .unchangedItems(counts.getOrDefault(Action.UNCHANGED, 0))
+                .failedRows(counts.getOrDefault(Action.FAILED, 0))
+                .elapsedMillis(elapsedMillis)
+                .rowsPerSecond(total * 1000.0 / elapsedMillis)
+                .build();
+
+        log.info("Imported item catalog {}{}: {} created, {} updated, {} unchanged, {} failed of {} rows in {} ms",
+                reference, dryRun ? " (dry run)" : "", summary.getCreatedItems(), summary.getUpdatedItems(),
+                summary.getUnchangedItems(), summary.getFailedRows(), total, elapsedMillis);
+        return summary;
+    }
+
+    private List<ItemImportResult> importChunk(List<ItemImportReader.Row> chunk, boolean dryRun, String reference,
+                                               TransactionTemplate transaction) {
+        ItemImportResult[] results = new ItemImportResult[chunk.size()];
+        Map<String, Integer> positions = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            ItemImportReader.Row row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.item());
+            if (error == null && positions.containsKey(row.item().getSku())) {
+                error = "Duplicate SKU, already on line " + chunk.get(positions.get(row.item().getSku())).line();
+            }
+            if (error != null) {
+                results[i] = failure(row, error);
+                continue;
+            }
+            positions.put(row.item().getSku(), i);
+        }
+
+        if (!positions.isEmpty()) {
+            try {
+                List<ItemImportResult> applied = dryRun
+                        ? upsert(chunk, positions, itemRepository.findBySkuIn(positions.keySet()), false, reference)
+                        : transaction.execute(status -> upsert(chunk, positions,
+                                itemRepository.findBySkuInForUpdate(positions.keySet()), true, reference));
+                Iterator<ItemImportResult> iterator = applied.iterator();
+                for (int position : positions.values()) {
+                    results[position] = iterator.next();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to import item chunk starting at line {}", chunk.get(0).line(), e);
+                for (int position : positions.values()) {
+                    results[position] = failure(chunk.get(position),
+                            "Chunk starting at line " + chunk.get(0).line() + " could not be saved; see the server log");
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * @param write false for a dry run, which leaves the loaded items untouched
+     * @return one result per position, in the order of positions
+     */
+    private List<ItemImportResult> upsert(List<ItemImportReader.Row> chunk, Map<String, Integer> positions,
+                                          List<Item> stored, boolean write, String reference) {
+        Map<String, Item> bySku = stored.stream().collect(Collectors.toMap(Item::getSku, Function.identity()));
+        List<Outcome> outcomes = new ArrayList<>(positions.size());
+        List<Item> created = new ArrayList<>();
+        Map<Long, Integer> deltas = new HashMap<>();
+
+        positions.forEach((sku, position) -> {
+            ItemImportReader.Row row = chunk.get(position);
+            ItemRequest request = row.item();
+            Item item = bySku.get(sku);
+
+            if (item == null) {
+                item = new Item();
+                apply(request, item);
+                created.add(item);
+                outcomes.add(new Outcome(row, Action.CREATED, write ? item : null, null, null));
+                return;
+            }
+
+            List<String> changes = diff(item, request);
+            if (changes.isEmpty()) {
+                outcomes.add(new Outcome(row, Action.UNCHANGED, item, null, null));
+                return;
+            }
+            if (request.getQuantity() < item.getReservedQuantity()) {
+                outcomes.add(new Outcome(row, Action.FAILED, null, null, "quantity: cannot be lower than the "
+                        + item.getReservedQuantity() + " units reserved for approved orders"));
+                return;
+            }
+            if (write) {
+                deltas.merge(item.getId(), request.getQuantity() - item.getQuantity(), Integer::sum);
+                apply(request, item);
+            }
+            outcomes.add(new Outcome(row, Action.UPDATED, item, changes, null));
+        });
+
+        if (write) {
+            // Updates go out with the flush at commit; both are batched by hibernate.jdbc.batch_size
+            itemRepository.saveAll(created);
+            created.forEach(item -> deltas.put(item.getId(), item.getQuantity()));
+            inventoryJournalService.recordAll(deltas, MovementType.IMPORT, reference);
+        }
+
+        return outcomes.stream()
+                .map(outcome -> ItemImportResult.builder()
+                        .line(outcome.row().line())
+                        .sku(outcome.row().item().getSku())
+                        .action(outcome.action())
+                        .itemId(outcome.item() != null ? outcome.item().getId() : null)
+                        .changes(outcome.changes())
+                        .error(outcome.error())
+                        .build())
+                .toList();
+    }
+
+    private List<String> diff(Item item, ItemRequest request) {
+        List<String> changes = new ArrayList<>();
+        if (!Objects.equals(item.getItemName(), request.getItemName())) {
+            changes.add("itemName");
+        }
+        if (!Objects.equals(item.getQuantity(), request.getQuantity())) {
+            changes.add("quantity");
+        }
+        if (item.getUnitPrice().compareTo(request.getUnitPrice()) != 0) {
+            changes.add("unitPrice");
+        }
+        if (!Objects.equals(item.getPackageVolume(), request.getPackageVolume())) {
+            changes.add("packageVolume");
+        }
+        if (!Objects.equals(item.getDescription(), request.getDescription())) {
+            changes.add("description");
+        }
+        return changes;
+    }
+
+    private void apply(ItemRequest request, Item item) {
+        item.setSku(request.getSku());
+        item.setItemName(request.getItemName());
+        item.setQuantity(request.getQuantity());
+        item.setUnitPrice(request.getUnitPrice());
+        item.setPackageVolume(request.getPackageVolume());
+        item.setDescription(request.getDescription());
+    }
+
+    private String validate(ItemRequest request) {
+        if (request.getSku() == null || request.getSku().isBlank()) {
+            return "sku: SKU is required";
+        }
+        Set<ConstraintViolation<ItemRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private ItemImportResult failure(ItemImportReader.Row row, String error) {
+        return ItemImportResult.builder()
+                .line(row.line())
+                .sku(row.item() != null ? row.item().getSku() : null)
+                .action(Action.FAILED)
+                .error(error)
+                .build();
+    }
+}
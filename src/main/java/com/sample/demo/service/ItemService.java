@@ -1,32 +1,92 @@
 package com.sample.demo.service;
 
+import com.sample.demo.dto.common.CursorPage;
 import com.sample.demo.dto.item.ItemRequest;
 import com.sample.demo.dto.item.ItemResponse;
+import com.sample.demo.dto.item.ItemSearchRequest;
 import com.sample.demo.dto.item.PatchItemRequest;
+import com.sample.demo.dto.item.StockLevelResponse;
 import com.sample.demo.exception.BadRequestException;
+import com.sample.demo.exception.DuplicateResourceException;
 import com.sample.demo.exception.ResourceNotFoundException;
 import com.sample.demo.model.entity.Item;
+import com.sample.demo.model.enums.MovementType;
 import com.sample.demo.repository.ItemRepository;
-import com.sample.demo.util.PatchUtil;
+import com.sample.demo.repository.ItemSpecifications;
+import com.sample.demo.util.PropertyCopier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ItemService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final PropertyCopier<PatchItemRequest, Item> ITEM_PATCH =
+            PropertyCopier.of(PatchItemRequest.class, Item.class, "itemName", "quantity", "unitPrice", "packageVolume", "description", "sku", "hotSku");
+
     private final ItemRepository itemRepository;
+    private final InventoryJournalService inventoryJournalService;
+    private final HotStockService hotStockService;
 
     @Transactional(readOnly = true)
     public Page<ItemResponse> getAllItems(Pageable pageable) {
         log.info("Fetching all items with pagination");
-        return itemRepository.findAll(pageable)
-                .map(this::mapToDTO);
+        Page<Item> items = itemRepository.findAll(pageable);
+        Map<Long, Integer> pooled = hotStockService.getPooledQuantities(items.getContent());
+        return items.map(item -> mapToDTO(item, pooled));
+    }
+
+    /**
+     * Keyset-paginated by id, so every page costs the same however deep the client goes.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ItemResponse> searchItems(ItemSearchRequest request, String cursor, int size) {
+        log.info("Searching items: {}", request);
+
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        checkRange("price", request.getMinPrice(), request.getMaxPrice());
+        checkRange("volume", request.getMinVolume(), request.getMaxVolume());
+        checkRange("quantity", request.getMinQuantity(), request.getMaxQuantity());
+
+        boolean prefix = request.getMatch() != ItemSearchRequest.Match.CONTAINS;
+        Specification<Item> filter = Specification.allOf(
+                prefix ? ItemSpecifications.startsWith("itemName", request.getName())
+                        : ItemSpecifications.contains("itemName", request.getName()),
+                prefix ? ItemSpecifications.startsWith("sku", request.getSku())
+                        : ItemSpecifications.contains("sku", request.getSku()),
+                ItemSpecifications.between("unitPrice", request.getMinPrice(), request.getMaxPrice()),
+                ItemSpecifications.between("packageVolume", request.getMinVolume(), request.getMaxVolume()),
+                ItemSpecifications.between("quantity", request.getMinQuantity(), request.getMaxQuantity()),
+                ItemSpecifications.idAfter(cursor != null ? ItemCursor.decode(cursor).id() : null));
+
+        List<Item> rows = itemRepository.findBy(filter, query -> query
+                .sortBy(Sort.by("id"))
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = rows.size() > size;
+        List<Item> page = hasNext ? rows.subList(0, size) : rows;
+        Map<Long, Integer> pooled = hotStockService.getPooledQuantities(page);
+        return CursorPage.<ItemResponse>builder()
+                .content(page.stream().map(item -> mapToDTO(item, pooled)).toList())
+                .nextCursor(hasNext ? new ItemCursor(page.getLast().getId()).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
     @Transactional(readOnly = true)
@@ -37,6 +97,19 @@ public class ItemService {
         return mapToDTO(item);
     }
 
+    /**
+     * @param at point in time, now if null
+     */
+    @Transactional(readOnly = true)
+    public StockLevelResponse getStockAt(Long id, LocalDateTime at) {
+        LocalDateTime when = at != null ? at : LocalDateTime.now();
+        return StockLevelResponse.builder()
+                .itemId(id)
+                .at(when)
+                .quantity(inventoryJournalService.getStockAt(id, when))
+                .build();
+    }
+
     @Transactional
     public ItemResponse createItem(ItemRequest request) {
         log.info("Creating new item with name: {}", request.getItemName());
@@ -53,6 +126,10 @@ public class ItemService {
             throw new BadRequestException("Package volume cannot be negative");
         }
 
+        if (request.getSku() != null && itemRepository.existsBySku(request.getSku())) {
+            throw new DuplicateResourceException("Item", "sku", request.getSku());
+        }
+
         Item item = new Item();
         item.setItemName(request.getItemName());
         item.setQuantity(request.getQuantity());
@@ -60,8 +137,10 @@ public class ItemService {
         item.setPackageVolume(request.getPackageVolume());
         item.setDescription(request.getDescription());
         item.setSku(request.getSku());
+        item.setHotSku(Boolean.TRUE.equals(request.getHotSku()));
 
         Item savedItem = itemRepository.save(item);
+        inventoryJournalService.record(savedItem.getId(), savedItem.getQuantity(), MovementType.OPENING, null);
         log.info("Item created successfully with id: {}", savedItem.getId());
 
         return mapToDTO(savedItem);
@@ -71,7 +150,7 @@ public class ItemService {
     public ItemResponse updateItem(Long id, ItemRequest request) {
         log.info("Updating item with id: {}", id);
 
-        Item item = itemRepository.findById(id)
+        Item item = itemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
 
         if (request.getQuantity() < 0) {
@@ -86,14 +165,25 @@ public class ItemService {
             throw new BadRequestException("Package volume cannot be negative");
         }
 
+        if (request.getSku() != null && !request.getSku().equals(item.getSku())
+                && itemRepository.existsBySku(request.getSku())) {
+            throw new DuplicateResourceException("Item", "sku", request.getSku());
+        }
+
+        checkNotBelowReserved(item, request.getQuantity());
+
+        int previousQuantity = item.getQuantity();
+
         item.setItemName(request.getItemName());
         item.setQuantity(request.getQuantity());
         item.setUnitPrice(request.getUnitPrice());
         item.setPackageVolume(request.getPackageVolume());
         item.setDescription(request.getDescription());
         item.setSku(request.getSku());
+        item.setHotSku(Boolean.TRUE.equals(request.getHotSku()));
 
         Item updatedItem = itemRepository.save(item);
+        inventoryJournalService.record(id, updatedItem.getQuantity() - previousQuantity, MovementType.ADJUSTMENT, null);
         log.info("Item updated successfully with id: {}", updatedItem.getId());
 
         return mapToDTO(updatedItem);
@@ -103,12 +193,24 @@ public class ItemService {
     public ItemResponse patchItem(Long id, PatchItemRequest request) {
         log.info("Partially updating item with id: {}", id);
 
-        Item item = itemRepository.findById(id)
+        Item item = itemRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Item", "id", id));
 
-        PatchUtil.copyNonNullProperties(request, item);
+        if (request.getSku() != null && !request.getSku().equals(item.getSku())
+                && itemRepository.existsBySku(request.getSku())) {
+            throw new DuplicateResourceException("Item", "sku", request.getSku());
+        }
+
+        if (request.getQuantity() != null) {
+            checkNotBelowReserved(item, request.getQuantity());
+        }
+
+        int previousQuantity = item.getQuantity();
+
+        ITEM_PATCH.copyNonNullProperties(request, item);
 
         Item updatedItem = itemRepository.save(item);
+        inventoryJournalService.record(id, updatedItem.getQuantity() - previousQuantity, MovementType.ADJUSTMENT, null);
         log.info("Item partially updated successfully with id: {}", updatedItem.getId());
 
         return mapToDTO(updatedItem);
@@ -126,15 +228,46 @@ public class ItemService {
         log.info("Item deleted successfully with id: {}", id);
     }
 
+    /**
+     * Approved orders hold reserved units until they ship; taking stock below them would
+     * bounce those orders at scheduling.
+     */
+    private void checkNotBelowReserved(Item item, int quantity) {
+        if (quantity < item.getReservedQuantity()) {
+            throw new BadRequestException("Item quantity cannot be lower than the " + item.getReservedQuantity()
+                    + " units reserved for approved orders");
+        }
+    }
+
+    private <T extends Comparable<? super T>> void checkRange(String name, T min, T max) {
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new BadRequestException("Minimum " + name + " must not exceed maximum " + name);
+        }
+    }
+
+    /**
+     * Blocks of a hot item leased to nodes count in reservedQuantity, but the units not
+     * handed out yet can still be ordered; OrderService warnings count them the same way.
+     */
+    private int getAvailableToPromise(Item item, Map<Long, Integer> pooled) {
+        return item.getAvailableToPromise() + pooled.getOrDefault(item.getId(), 0);
+    }
+
     private ItemResponse mapToDTO(Item item) {
+        return mapToDTO(item, hotStockService.getPooledQuantities(List.of(item)));
+    }
+
+    private ItemResponse mapToDTO(Item item, Map<Long, Integer> pooled) {
         return ItemResponse.builder()
                 .id(item.getId())
                 .itemName(item.getItemName())
                 .quantity(item.getQuantity())
+                .availableToPromise(getAvailableToPromise(item, pooled))
                 .unitPrice(item.getUnitPrice())
                 .packageVolume(item.getPackageVolume())
                 .description(item.getDescription())
                 .sku(item.getSku())
+                .hotSku(item.getHotSku())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,85 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.TooManyRequestsException;
+import com.sample.demo.security.LoginRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.*;
+
+/**
+ * Runs password authentication off the request threads. Attempts are rate limited
+ * before any hashing, hashing runs on the bounded login executor, and the time spent
+ * is recorded in the auth.login timer, separately from overall request latency.
+ */
+@Slf4j
+@Service
+public class LoginService {
+
+    private final AuthenticationManager authenticationManager;
+    private final LoginRateLimiter rateLimiter;
+    private final ExecutorService loginExecutor;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+
+    public LoginService(AuthenticationManager authenticationManager,
+                        LoginRateLimiter rateLimiter,
+                        @Qualifier("loginExecutor") ExecutorService loginExecutor,
+                        MeterRegistry meterRegistry,
+                        @Value("${auth.login.timeout:5000}") long timeoutMillis) {
+        this.authenticationManager = authenticationManager;
+        this.rateLimiter = rateLimiter;
+        this.loginExecutor = loginExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @throws TooManyRequestsException if the caller is rate limited or the login pool is saturated
+     * @throws AuthenticationException  if the credentials are rejected
+     */
+    public Authentication authenticate(String username, String password, String remoteAddress) {
+        rateLimiter.acquire(username, remoteAddress);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        Future<Authentication> future = null;
+        try {
+            future = loginExecutor.submit(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password)));
+            Authentication authentication = future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            outcome = "success";
+            return authentication;
+        } catch (RejectedExecutionException e) {
+            outcome = "rejected";
+            log.warn("Login pool saturated, rejecting login for '{}'", username);
+            throw new TooManyRequestsException("Login service is busy. Please try again shortly.");
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            future.cancel(true);
+            throw new TooManyRequestsException("Login service is busy. Please try again shortly.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while authenticating", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            throw new IllegalStateException("Authentication failed unexpectedly", e.getCause());
+        } finally {
+            sample.stop(Timer.builder("auth.login")
+                    .description("Time to authenticate a login, including queueing on the login pool")
+                    .tag("outcome", outcome)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+}
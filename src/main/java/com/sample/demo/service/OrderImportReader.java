@@ -0,0 +1,147 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.demo.dto.order.ImportOrderRequest;
+import com.sample.demo.dto.order.OrderItemRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a bulk order import one chunk at a time, so the input is never held in memory.
+ * NDJSON carries one order per line. CSV carries one order line per row
+ * (orderRef,deadlineDate,itemId,requestedQuantity); consecutive rows with the same
+ * orderRef form one order. A malformed row fails its own order, not the whole import.
+ */
+class OrderImportReader {
+
+    /**
+     * @param order the parsed order, possibly partial when error is set; null for unparseable JSON
+     */
+    record Row(int line, ImportOrderRequest order, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final OrderImportService.Format format;
+    private final ObjectMapper objectMapper;
+
+    private int lineNumber;
+    private String[] pendingFields; // CSV row read ahead that starts the next order
+    private int pendingLine;
+    private String pendingError;
+
+    OrderImportReader(BufferedReader reader, OrderImportService.Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return up to chunkSize orders, empty once the input is exhausted
+     */
+    List<Row> nextChunk(int chunkSize) throws IOException {
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        while (chunk.size() < chunkSize) {
+            Row row = format == OrderImportService.Format.CSV ? nextCsvOrder() : nextJsonOrder();
+            if (row == null) {
+                break;
+            }
+            chunk.add(row);
+        }
+        return chunk;
+    }
+
+    private Row nextJsonOrder() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return new Row(lineNumber, objectMapper.readValue(line, ImportOrderRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+            }
+        }
+        return null;
+    }
+
+    private Row nextCsvOrder() throws IOException {
+        if (pendingFields == null && !readCsvRow()) {
+            return null;
+        }
+
+        String reference = pendingFields[0];
+        int firstLine = pendingLine;
+        String error = null;
+
+        ImportOrderRequest order = new ImportOrderRequest();
+        order.setReference(reference);
+        order.setOrderItems(new ArrayList<>());
+
+        do {
+            if (error == null && pendingError != null) {
+                error = pendingError;
+            }
+            if (error == null) {
+                try {
+                    LocalDate deadline = LocalDate.parse(pendingFields[1]);
+                    if (order.getDeadlineDate() == null) {
+                        order.setDeadlineDate(deadline);
+                    } else if (!order.getDeadlineDate().equals(deadline)) {
+                        error = "Line " + pendingLine + ": deadlineDate differs from the rest of order " + reference;
+                    }
+
+                    OrderItemRequest item = new OrderItemRequest();
+                    item.setItemId(Long.valueOf(pendingFields[2]));
+                    item.setRequestedQuantity(Integer.valueOf(pendingFields[3]));
+                    order.getOrderItems().add(item);
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    error = "Line " + pendingLine + ": " + e.getMessage();
+                }
+            }
+        } while (readCsvRow() && pendingFields[0].equals(reference));
+
+        return new Row(firstLine, order, error);
+    }
+
+    /**
+     * Advances to the next data row, skipping blank lines and the header.
+     */
+    private boolean readCsvRow() throws IOException {
+        String line;
+        while ((line = readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] fields = line.split(",", -1);
+            for (int i = 0; i < fields.length; i++) {
+                fields[i] = fields[i].trim();
+            }
+            if (lineNumber == 1 && fields[0].equalsIgnoreCase("orderRef")) {
+                continue;
+            }
+
+            pendingFields = fields.length == 4 ? fields : new String[]{fields[0], "", "", ""};
+            pendingError = fields.length == 4 ? null
+                    : "Line " + lineNumber + ": expected 4 columns (orderRef,deadlineDate,itemId,requestedQuantity)";
+            pendingLine = lineNumber;
+            return true;
+        }
+        pendingFields = null;
+        return false;
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+}
@@ -0,0 +1,211 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sample.demo.dto.order.ImportOrderRequest;
+import com.sample.demo.dto.order.OrderImportResult;
+import com.sample.demo.dto.order.OrderImportSummary;
+import com.sample.demo.dto.order.OrderItemRequest;
+import com.sample.demo.exception.ResourceNotFoundException;
+import com.sample.demo.model.entity.Item;
+import com.sample.demo.model.entity.Order;
+import com.sample.demo.model.entity.OrderItem;
+import com.sample.demo.model.entity.User;
+import com.sample.demo.model.enums.OrderStatus;
+import com.sample.demo.repository.ItemRepository;
+import com.sample.demo.repository.OrderRepository;
+import com.sample.demo.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk order ingestion for onboarding large clients.
+ * Input is streamed and processed in chunks: each chunk resolves its items with one
+ * query and is persisted in its own transaction, and the results of its orders are
+ * handed to the caller together as soon as the chunk commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${orders.import.chunk-size:500}")
+    private int chunkSize;
+
+    public OrderImportSummary importOrders(String username, InputStream input, Format format,
+                                           Consumer<List<OrderImportResult>> results) throws IOException {
+        log.info("Importing {} orders for user: {}", format, username);
+
+        User client = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        OrderImportReader reader = new OrderImportReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), format, objectMapper);
+        Map<Long, Item> itemCache = new HashMap<>();
+
+        long start = System.nanoTime();
+        int total = 0;
+        int created = 0;
+        int orderLines = 0;
+
+        List<OrderImportReader.Row> chunk;
+        while (!(chunk = reader.nextChunk(chunkSize)).isEmpty()) {
+            List<OrderImportResult> chunkResults = importChunk(client, chunk, itemCache, transaction);
+            for (int i = 0; i < chunk.size(); i++) {
+                OrderImportResult result = chunkResults.get(i);
+                if (result.isSuccess()) {
+                    created++;
+                    orderLines += chunk.get(i).order().getOrderItems().size();
+                }
+            }
+            results.accept(chunkResults);
+            total += chunk.size();
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        OrderImportSummary summary = OrderImportSummary.builder()
+                .totalOrders(total)
+                .createdOrders(created)
+                .failedOrders(total - created)
+                .orderLines(orderLines)
+                .elapsedMillis(elapsedMillis)
+                .ordersPerSecond(created * 1000.0 / elapsedMillis)
+                .build();
+
+        log.info("Imported {}/{} orders ({} lines) for user {} in {} ms ({} orders/s)",
+                created, total, orderLines, username, elapsedMillis, String.format("%.1f", summary.getOrdersPerSecond()));
+        return summary;
+    }
+
+    private List<OrderImportResult> importChunk(User client, List<OrderImportReader.Row> chunk,
+                                                Map<Long, Item> itemCache, TransactionTemplate transaction) {
+        resolveItems(chunk, itemCache);
+
+        OrderImportResult[] results = new OrderImportResult[chunk.size()];
+        List<Order> orders = new ArrayList<>(chunk.size());
+        List<Integer> orderPositions = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            OrderImportReader.Row row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row.order(), itemCache);
+            if (error != null) {
+                results[i] = failure(row, error);
+                continue;
+            }
+            orders.add(buildOrder(client, row.order(), itemCache));
+            orderPositions.add(i);
+        }
+
+        if (!orders.isEmpty()) {
+            try {
+                transaction.executeWithoutResult(status -> orderRepository.saveAll(orders));
+                for (int i = 0; i < orders.size(); i++) {
+                    Order order = orders.get(i);
+                    int position = orderPositions.get(i);
+                    results[position] = OrderImportResult.builder()
+                            .line(chunk.get(position).line())
+                            .reference(chunk.get(position).order().getReference())
+                            .success(true)
+                            .orderId(order.getId())
+                            .orderNumber(order.getOrderNumber())
+                            .build();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to persist import chunk starting at line {}", chunk.get(0).line(), e);
+                for (int position : orderPositions) {
+                    results[position] = failure(chunk.get(position),
+                            "Chunk starting at line " + chunk.get(0).line() + " could not be saved; see the server log");
+                }
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Loads every item the chunk references that is not already cached, in one query.
+     */
+    private void resolveItems(List<OrderImportReader.Row> chunk, Map<Long, Item> itemCache) {
+        Set<Long> missing = chunk.stream()
+                .filter(row -> row.error() == null && row.order().getOrderItems() != null)
+                .flatMap(row -> row.order().getOrderItems().stream())
+                .map(OrderItemRequest::getItemId)
+                .filter(id -> id != null && !itemCache.containsKey(id))
+                .collect(Collectors.toSet());
+
+        if (!missing.isEmpty()) {
+            itemRepository.findAllById(missing).forEach(item -> itemCache.put(item.getId(), item));
+        }
+    }
+
+    private String validate(ImportOrderRequest request, Map<Long, Item> itemCache) {
+        Set<ConstraintViolation<ImportOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+
+        return request.getOrderItems().stream()
+                .map(OrderItemRequest::getItemId)
+                .filter(id -> !itemCache.containsKey(id))
+                .findFirst()
+                .map(id -> "Item not found with id : '" + id + "'")
+                .orElse(null);
+    }
+
+    private Order buildOrder(User client, ImportOrderRequest request, Map<Long, Item> itemCache) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumberAllocator.nextOrderNumber());
+        order.setClient(client);
+        order.setStatus(OrderStatus.CREATED);
+        order.setDeadlineDate(request.getDeadlineDate());
+
+        for (OrderItemRequest itemRequest : request.getOrderItems()) {
+            Item item = itemCache.get(itemRequest.getItemId());
+
+            OrderItem orderItem = new OrderItem();
+            orderItem.setItem(item);
+            orderItem.setRequestedQuantity(itemRequest.getRequestedQuantity());
+            orderItem.setPriceAtOrder(item.getUnitPrice());
+
+            order.addOrderItem(orderItem);
+        }
+        return order;
+    }
+
+    private OrderImportResult failure(OrderImportReader.Row row, String error) {
+        return OrderImportResult.builder()
+                .line(row.line())
+                .reference(row.order() != null ? row.order().getReference() : null)
+                .success(false)
+                .error(error)
+                .build();
+    }
+}
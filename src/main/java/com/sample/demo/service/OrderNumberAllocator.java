@@ -0,0 +1,100 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.NumberSequence;
+import com.sample.demo.repository.NumberSequenceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out order numbers in the ORD-yyyyMMdd-NNNNN format, NNNNN counting that day's
+ * numbers from 00001. Each day has its own number_sequences row, created on first use.
+ * Each node reserves a block of numbers from the day's row in a short transaction of
+ * its own, then serves the block lock-free from memory. Numbers are unique across
+ * nodes; a restart leaves a gap of at most one block, so NNNNN counts numbers handed
+ * out rather than orders. A day that hands out more than 99,999 numbers gets wider
+ * suffixes instead of failing.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderNumberAllocator {
+
+    public static final String ORDER_NUMBER_SEQUENCE = "order.number";
+
+    private final NumberSequenceRepository repository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${orders.number.block-size:1000}")
+    private int blockSize;
+
+    private volatile Block block = new Block(LocalDate.EPOCH, new AtomicLong(), 0);
+
+    private record Block(LocalDate date, AtomicLong next, long end) {
+    }
+
+    public String nextOrderNumber() {
+        return nextOrderNumber(LocalDate.now());
+    }
+
+    /**
+     * A caller that read the clock just before midnight may get a number of the next
+     * day, once another caller has moved on to it.
+     */
+    String nextOrderNumber(LocalDate today) {
+        while (true) {
+            Block current = block;
+            if (!current.date().isBefore(today)) {
+                long value = current.next().getAndIncrement();
+                if (value < current.end()) {
+                    return String.format("ORD-%s-%05d", current.date().format(DateTimeFormatter.BASIC_ISO_DATE), value);
+                }
+            }
+            refill(current, today);
+        }
+    }
+
+    private synchronized void refill(Block stale, LocalDate today) {
+        if (block == stale) {
+            block = reserveBlock(stale.date().isAfter(today) ? stale.date() : today);
+        }
+    }
+
+    private Block reserveBlock(LocalDate date) {
+        String name = ORDER_NUMBER_SEQUENCE + "." + date.format(DateTimeFormatter.BASIC_ISO_DATE);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        while (true) {
+            Block reserved = transaction.execute(status -> repository.findByNameForUpdate(name)
+                    .map(sequence -> {
+                        long start = sequence.getNextValue();
+                        sequence.setNextValue(start + blockSize);
+                        repository.save(sequence);
+
+                        log.info("Reserved order numbers {} to {} of {}", start, start + blockSize - 1, date);
+                        return new Block(date, new AtomicLong(start), start + blockSize);
+                    })
+                    .orElse(null));
+            if (reserved != null) {
+                return reserved;
+            }
+
+            try {
+                transaction.executeWithoutResult(status -> repository.saveAndFlush(new NumberSequence(name, 1L, null)));
+                log.info("Started order number sequence for {}", date);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Order number sequence for {} was started by another node", date);
+            }
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package com.sample.demo.service;
 
+import com.sample.demo.dto.common.CursorPage;
 import com.sample.demo.dto.order.*;
 import com.sample.demo.exception.BadRequestException;
 import com.sample.demo.exception.ResourceNotFoundException;
 import com.sample.demo.model.entity.*;
+import com.sample.demo.model.enums.MovementType;
 import com.sample.demo.model.enums.OrderStatus;
 import com.sample.demo.repository.*;
+import com.sample.demo.repository.ItemRepositoryCustom.StockShortage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +23,8 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -28,8 +36,17 @@ public class OrderService {
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final TruckRepository truckRepository;
-    private final DeliveryRepository deliveryRepository;
+    private final TruckDaySlotRepository truckDaySlotRepository;
     private final SystemConfigService configService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final InventoryReservationService inventoryReservationService;
+    private final HotStockService hotStockService;
+    private final InventoryJournalService inventoryJournalService;
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Absorbs floating point drift when order volume is split across trucks
+    private static final double VOLUME_TOLERANCE = 1e-9;
 
     // ==================== CLIENT OPERATIONS ====================
 
@@ -41,6 +58,7 @@ public class OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
 
         Order order = new Order();
+        order.setOrderNumber(orderNumberAllocator.nextOrderNumber());
         order.setClient(client);
         order.setStatus(OrderStatus.CREATED);
         order.setDeadlineDate(request.getDeadlineDate());
@@ -131,6 +149,8 @@ public class OrderService {
             throw new BadRequestException("Order cannot be cancelled when status is FULFILLED, UNDER_DELIVERY, or CANCELED");
         }
 
+        inventoryReservationService.release(order);
+
         order.setStatus(OrderStatus.CANCELED);
         orderRepository.save(order);
 
@@ -151,7 +171,9 @@ public class OrderService {
             orders = orderRepository.findByClient(client, pageable);
         }
 
-        return orders.map(this::mapToDTO);
+        fetchOrderItems(orders.getContent());
+        Map<SlotKey, Double> reservedVolumes = findReservedVolumes(orders.getContent());
+        return orders.map(order -> mapToDTO(order, reservedVolumes));
     }
 
     @Transactional(readOnly = true)
@@ -161,27 +183,51 @@ public class OrderService {
         return mapToDTO(order);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<OrderDTO> getClientOrdersByCursor(String username, OrderStatus status, String cursor, int size) {
+        log.info("Fetching orders by cursor for client: {} with status: {}", username, status);
+
+        User client = userRepository.findByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+
+        List<Order> orders = findPageAfter(cursor, size,
+                (afterDate, afterId, page) ->
+                        orderRepository.findSubmittedAfter(status, client.getId(), afterDate, afterId, page),
+                (afterId, page) -> orderRepository.findUnsubmittedAfter(status, client.getId(), afterId, page));
+        fetchOrderItems(orders);
+        Map<SlotKey, Double> reservedVolumes = findReservedVolumes(orders);
+        return toCursorPage(orders, size, o -> new OrderCursor(o.getSubmittedDate(), o.getId()),
+                order -> mapToDTO(order, reservedVolumes));
+    }
+
     // ==================== MANAGER OPERATIONS ====================
 
     @Transactional(readOnly = true)
     public Page<OrderSummaryDTO> getAllOrders(OrderStatus status, Pageable pageable) {
         log.info("Fetching all orders with status: {}", status);
 
-        Page<Order> orders;
+        // Projection queries select only the summary columns and join the username in place
         if (status != null) {
-            orders = orderRepository.findByStatusOrderBySubmittedDateDesc(status, pageable);
-        } else {
-            orders = orderRepository.findAllOrderBySubmittedDateDesc(pageable);
+            return orderRepository.findSummariesByStatus(status, pageable);
         }
+        return orderRepository.findAllSummaries(pageable);
+    }
 
-        return orders.map(this::mapToSummaryDTO);
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummaryDTO> getAllOrdersByCursor(OrderStatus status, String cursor, int size) {
+        log.info("Fetching all orders by cursor with status: {}", status);
+
+        List<OrderSummaryDTO> orders = findPageAfter(cursor, size,
+                (afterDate, afterId, page) -> orderRepository.findSubmittedSummariesAfter(status, afterDate, afterId, page),
+                (afterId, page) -> orderRepository.findUnsubmittedSummariesAfter(status, afterId, page));
+        return toCursorPage(orders, size, o -> new OrderCursor(o.getSubmittedDate(), o.getId()), Function.identity());
     }
 
     @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long orderId) {
         log.info("Fetching order details: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         OrderDTO dto = mapToDTO(order);
@@ -193,13 +239,16 @@ public class OrderService {
     public OrderDTO approveOrder(Long orderId) {
         log.info("Approving order: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() != OrderStatus.AWAITING_APPROVAL) {
             throw new BadRequestException("Order can only be approved when status is AWAITING_APPROVAL");
         }
 
+        // Hold the stock now so the order cannot bounce at scheduling time
+        inventoryReservationService.reserve(order);
+
         order.setStatus(OrderStatus.APPROVED);
         Order approvedOrder = orderRepository.save(order);
 
@@ -211,13 +260,15 @@ public class OrderService {
     public OrderDTO declineOrder(Long orderId, DeclineOrderRequest request) {
         log.info("Declining order: {} with reason: {}", orderId, request.getDeclineReason());
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() != OrderStatus.AWAITING_APPROVAL) {
             throw new BadRequestException("Order can only be declined when status is AWAITING_APPROVAL");
         }
 
+        inventoryReservationService.release(order);
+
         order.setStatus(OrderStatus.DECLINED);
         order.setDeclineReason(request.getDeclineReason());
         Order declinedOrder = orderRepository.save(order);
@@ -230,7 +281,7 @@ public class OrderService {
     public OrderDTO scheduleDelivery(Long orderId, ScheduleDeliveryRequest request) {
         log.info("Scheduling delivery for order: {} on date: {}", orderId, request.getScheduledDate());
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
         if (order.getStatus() != OrderStatus.APPROVED) {
@@ -240,24 +291,27 @@ public class OrderService {
         // Validate scheduled date
         validateDeliveryDate(request.getScheduledDate());
 
-        // Get trucks
-        List<Truck> trucks = new ArrayList<>();
-        for (Long truckId : request.getTruckIds()) {
-            Truck truck = truckRepository.findById(truckId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Truck", "id", truckId));
-            trucks.add(truck);
-        }
-
-        // Validate truck availability
-        validateTruckAvailability(trucks, request.getScheduledDate());
-
         // Calculate total volume
         double totalVolume = order.getOrderItems().stream()
                 .mapToDouble(OrderItem::getTotalVolume)
                 .sum();
 
-        // Validate truck capacity
-        validateTruckCapacity(trucks, totalVolume);
+        // Residual capacity per truck for the day, from the slots already booked
+        LocalDate date = request.getScheduledDate();
+        List<TruckDaySlot> daySlots = truckDaySlotRepository.findBySlotDateBetween(date, date);
+
+        // Get trucks and split the order volume across them
+        Map<Truck, Double> loads;
+        if (request.isAutoAssignTrucks()) {
+            loads = autoAssignTrucks(FleetSchedule.of(truckRepository.findAll(), daySlots), date, totalVolume);
+        } else {
+            List<Truck> selectedTrucks = findTrucks(request.getTruckIds());
+            loads = assignLoads(selectedTrucks, FleetSchedule.of(selectedTrucks, daySlots), date, totalVolume);
+        }
+
+        // Book the loads - unique (truck, date) key and slot version reject concurrent bookings
+        reserveTruckSlots(loads, daySlots, date);
+        List<Truck> trucks = new ArrayList<>(loads.keySet());
 
         // Create delivery
         Delivery delivery = new Delivery();
@@ -270,8 +324,9 @@ public class OrderService {
         order.setDelivery(delivery);
         order.setStatus(OrderStatus.UNDER_DELIVERY);
 
-        // Update inventory quantities
-        updateInventoryQuantities(order);
+        // Turn the approval-time hold into the actual stock movement
+        Map<Long, Integer> held = inventoryReservationService.consume(order);
+        updateInventoryQuantities(order, held);
 
         Order savedOrder = orderRepository.save(order);
 
@@ -281,59 +336,80 @@ public class OrderService {
 
     @Transactional(readOnly = true)
     public List<LocalDate> getAvailableDeliveryDates(Long orderId) {
-        int days = configService.getDeliveryPeriod();
-        log.info("Fetching available delivery dates for order: {} for {} days", orderId, days);
+        log.info("Fetching available delivery dates for order: {}", orderId);
 
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findDetailById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
-        double totalVolume = order.getOrderItems().stream()
-                .mapToDouble(OrderItem::getTotalVolume)
-                .sum();
-
-        List<Truck> allTrucks = truckRepository.findAll();
-        double maxCapacity = allTrucks.stream()
-                .mapToDouble(Truck::getContainerVolume)
-                .sum();
+        return findAvailableDeliveryDates(order, truckRepository.findAll());
+    }
 
-        if (totalVolume > maxCapacity) {
-            throw new BadRequestException(
-                "Order volume (" + totalVolume + ") exceeds total truck capacity (" + maxCapacity +
-                "). Cannot schedule delivery."
-            );
-        }
+    // ==================== HELPER METHODS ====================
 
-        List<LocalDate> availableDates = new ArrayList<>();
-        LocalDate currentDate = LocalDate.now().plusDays(1);
-        LocalDate endDate = currentDate.plusDays(days - 1);
+    private Order getOrderByIdAndClient(Long orderId, String username) {
+        Order order = orderRepository.findDetailById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
 
-        if (order.getDeadlineDate() != null && endDate.isAfter(order.getDeadlineDate())) {
-            endDate = order.getDeadlineDate();
+        if (!order.getClient().getUsername().equals(username)) {
+            throw new BadRequestException("You are not authorized to access this order");
         }
 
-        LocalDate checkDate = currentDate;
-        while (!checkDate.isAfter(endDate)) {
-            if (!isWeekend(checkDate) && hasAvailableTrucksForDate(checkDate, totalVolume)) {
-                availableDates.add(checkDate);
-            }
-            checkDate = checkDate.plusDays(1);
+        return order;
+    }
+
+    /**
+     * Initialises the items of already loaded orders with one query, so mapping a page
+     * of orders costs a constant number of selects.
+     */
+    private void fetchOrderItems(List<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderRepository.findWithItemsByIdIn(orders.stream().map(Order::getId).toList());
         }
+    }
 
-        log.info("Found {} available delivery dates", availableDates.size());
-        return availableDates;
+    @FunctionalInterface
+    private interface SubmittedPageQuery<T> {
+        List<T> find(LocalDateTime afterDate, Long afterId, Pageable pageable);
     }
 
-    // ==================== HELPER METHODS ====================
+    /**
+     * Reads one keyset page (plus one extra row to detect a next page) in
+     * (submittedDate DESC NULLS LAST, id DESC) order, spilling into never-submitted
+     * orders once the submitted ones run out. No count query is issued.
+     */
+    private <T> List<T> findPageAfter(String cursor, int size, SubmittedPageQuery<T> submittedQuery,
+                                      BiFunction<Long, Pageable, List<T>> unsubmittedQuery) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
 
-    private Order getOrderByIdAndClient(Long orderId, String username) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
+        OrderCursor after = cursor != null ? OrderCursor.decode(cursor) : null;
+        int limit = size + 1;
 
-        if (!order.getClient().getUsername().equals(username)) {
-            throw new BadRequestException("You are not authorized to access this order");
+        List<T> rows = new ArrayList<>();
+        if (after == null || after.submittedDate() != null) {
+            rows.addAll(submittedQuery.find(
+                    after != null ? after.submittedDate() : null,
+                    after != null ? after.id() : null,
+                    PageRequest.ofSize(limit)));
         }
+        if (rows.size() < limit) {
+            Long afterId = after != null && after.submittedDate() == null ? after.id() : null;
+            rows.addAll(unsubmittedQuery.apply(afterId, PageRequest.ofSize(limit - rows.size())));
+        }
+        return rows;
+    }
 
-        return order;
+    private <T, R> CursorPage<R> toCursorPage(List<T> rows, int size, Function<T, OrderCursor> cursorOf,
+                                              Function<T, R> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<T> page = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPage.<R>builder()
+                .content(page.stream().map(mapper).toList())
+                .nextCursor(hasNext ? cursorOf.apply(page.getLast()).encode() : null)
+                .hasNext(hasNext)
+                .build();
     }
 
     private void validateDeliveryDate(LocalDate date) {
@@ -351,97 +427,177 @@ public class OrderService {
         return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY;
     }
 
-    private void validateTruckAvailability(List<Truck> trucks, LocalDate date) {
-        for (Truck truck : trucks) {
-            List<Delivery> existingDeliveries = deliveryRepository.findByTruckAndDate(truck.getId(), date);
-            if (!existingDeliveries.isEmpty()) {
-                throw new BadRequestException("Truck " + truck.getLicensePlate() + " is already scheduled for delivery on " + date);
+    private List<Truck> findTrucks(List<Long> truckIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(truckIds);
+        Map<Long, Truck> trucksById = truckRepository.findAllById(uniqueIds).stream()
+                .collect(Collectors.toMap(Truck::getId, t -> t));
+
+        List<Truck> trucks = new ArrayList<>();
+        for (Long truckId : uniqueIds) {
+            Truck truck = trucksById.get(truckId);
+            if (truck == null) {
+                throw new ResourceNotFoundException("Truck", "id", truckId);
             }
+            trucks.add(truck);
         }
+        return trucks;
     }
 
-    private void validateTruckCapacity(List<Truck> trucks, double totalVolume) {
-        double totalCapacity = trucks.stream()
-                .mapToDouble(Truck::getContainerVolume)
-                .sum();
+    private Map<Truck, Double> autoAssignTrucks(FleetSchedule schedule, LocalDate date, double totalVolume) {
+        TruckPacker.Packing packing = TruckPacker.pack(schedule.getTrucksWithCapacity(date),
+                        truck -> schedule.getResidualCapacity(truck, date), totalVolume)
+                .orElseThrow(() -> new BadRequestException("Trucks on " + date +
+                        " do not have sufficient free capacity. Required: " + totalVolume +
+                        ", Available: " + schedule.getFreeCapacity(date)));
+
+        log.info("Auto-assigned {} truck(s) for {} volume on {}, unused capacity {}",
+                packing.trucks().size(), totalVolume, date, packing.unusedCapacity());
+        return assignLoads(packing.trucks(), schedule, date, totalVolume);
+    }
 
-        if (totalCapacity < totalVolume) {
+    /**
+     * Fills the trucks in order, each up to its residual capacity for the day.
+     */
+    private Map<Truck, Double> assignLoads(List<Truck> trucks, FleetSchedule schedule, LocalDate date,
+                                           double totalVolume) {
+        Map<Truck, Double> loads = new LinkedHashMap<>();
+        double volumeLeft = totalVolume;
+        double freeCapacity = 0.0;
+
+        for (Truck truck : trucks) {
+            double residual = schedule.getResidualCapacity(truck, date);
+            if (residual <= 0.0) {
+                throw new BadRequestException("Truck " + truck.getLicensePlate() + " is fully booked on " + date);
+            }
+            double load = Math.min(residual, Math.max(volumeLeft, 0.0));
+            loads.put(truck, load);
+            volumeLeft -= load;
+            freeCapacity += residual;
+        }
+
+        if (volumeLeft > VOLUME_TOLERANCE) {
             throw new BadRequestException("Selected trucks do not have sufficient capacity. Required: " +
-                    totalVolume + ", Available: " + totalCapacity);
+                    totalVolume + ", Available: " + freeCapacity);
         }
+        return loads;
     }
 
-    private boolean hasAvailableTrucksForDate(LocalDate date, double requiredVolume) {
-        List<Truck> allTrucks = truckRepository.findAll();
-        List<Delivery> scheduledDeliveries = deliveryRepository.findByScheduledDate(date);
+    private void reserveTruckSlots(Map<Truck, Double> loads, List<TruckDaySlot> daySlots, LocalDate date) {
+        Map<Long, TruckDaySlot> slotsByTruckId = daySlots.stream()
+                .collect(Collectors.toMap(slot -> slot.getTruck().getId(), slot -> slot));
 
-        Set<Long> busyTruckIds = scheduledDeliveries.stream()
-                .flatMap(d -> d.getTrucks().stream())
-                .map(Truck::getId)
-                .collect(Collectors.toSet());
+        List<TruckDaySlot> slots = new ArrayList<>();
+        loads.forEach((truck, load) -> {
+            TruckDaySlot slot = slotsByTruckId.computeIfAbsent(truck.getId(), id -> new TruckDaySlot(truck, date));
+            slot.setReservedVolume(slot.getReservedVolume() + load);
+            slots.add(slot);
+        });
 
-        // Get available trucks
-        List<Truck> availableTrucks = allTrucks.stream()
-                .filter(t -> !busyTruckIds.contains(t.getId()))
-                .toList();
+        try {
+            truckDaySlotRepository.saveAllAndFlush(slots);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            log.warn("Truck slot conflict on {} for trucks {}", date,
+                    loads.keySet().stream().map(Truck::getLicensePlate).toList());
+            throw new BadRequestException("Truck capacity on " + date +
+                    " was booked concurrently by another delivery. Please refresh and try again.", e);
+        }
+    }
+
+    /**
+     * Answers the whole delivery window in one pass: the fleet is passed in and all
+     * truck day slots in the window are loaded with a single range query.
+     */
+    private List<LocalDate> findAvailableDeliveryDates(Order order, List<Truck> fleet) {
+        int days = configService.getDeliveryPeriod();
 
-        // Check if available trucks have sufficient capacity
-        double availableCapacity = availableTrucks.stream()
+        double totalVolume = order.getOrderItems().stream()
+                .mapToDouble(OrderItem::getTotalVolume)
+                .sum();
+
+        double maxCapacity = fleet.stream()
                 .mapToDouble(Truck::getContainerVolume)
                 .sum();
 
-        return availableCapacity >= requiredVolume;
-    }
+        if (totalVolume > maxCapacity) {
+            throw new BadRequestException(
+                "Order volume (" + totalVolume + ") exceeds total truck capacity (" + maxCapacity +
+                "). Cannot schedule delivery."
+            );
+        }
 
-    private void updateInventoryQuantities(Order order) {
-        for (OrderItem orderItem : order.getOrderItems()) {
-            Long itemId = orderItem.getItem().getId();
-            Integer requestedQty = orderItem.getRequestedQuantity();
+        LocalDate startDate = LocalDate.now().plusDays(1);
+        LocalDate endDate = startDate.plusDays(days - 1);
 
-            // Atomic decrement - prevents race conditions
-            int rowsUpdated = itemRepository.decrementQuantity(itemId, requestedQty);
+        if (order.getDeadlineDate() != null && endDate.isAfter(order.getDeadlineDate())) {
+            endDate = order.getDeadlineDate();
+        }
 
-            if (rowsUpdated == 0) {
-                // Fetch current item to provide accurate error message
-                Item item = itemRepository.findById(itemId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Item", "id", itemId));
+        List<LocalDate> availableDates = new ArrayList<>();
+        if (endDate.isBefore(startDate)) {
+            return availableDates;
+        }
 
-                log.warn("Insufficient inventory for item {}: available={}, requested={}",
-                        item.getItemName(), item.getQuantity(), requestedQty);
+        FleetSchedule schedule = FleetSchedule.of(fleet,
+                truckDaySlotRepository.findBySlotDateBetween(startDate, endDate));
 
-                throw new BadRequestException(String.format(
-                        "Insufficient inventory for %s. Available: %d, Requested: %d",
-                        item.getItemName(), item.getQuantity(), requestedQty));
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (!isWeekend(date) && schedule.canAccommodate(date, totalVolume)) {
+                availableDates.add(date);
             }
-
-            log.info("Decremented inventory for item ID {} by {} units", itemId, requestedQty);
         }
+
+        log.info("Found {} available delivery dates in {} day window", availableDates.size(), days);
+        return availableDates;
     }
 
-    // ==================== SCHEDULED TASK ====================
+    /**
+     * @param held units the order held until now per item id; hot items ship these from
+     *             their existing hold, other items had theirs released by consume
+     */
+    private void updateInventoryQuantities(Order order, Map<Long, Integer> held) {
+        // One batched pass, duplicate lines merged and items locked in id order
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        SortedMap<Long, Integer> hotQuantities = new TreeMap<>();
+        for (OrderItem orderItem : order.getOrderItems()) {
+            (orderItem.getItem().isHot() ? hotQuantities : quantities)
+                    .merge(orderItem.getItem().getId(), orderItem.getRequestedQuantity(), Integer::sum);
+        }
 
-    @Transactional
-    public void fulfillScheduledDeliveries() {
-        log.info("Running scheduled delivery fulfillment check");
+        // Hot items are written behind, with their journal entries, by HotStockService
+        List<StockShortage> shortages = new ArrayList<>(
+                hotStockService.ship(hotQuantities, held, order.getOrderNumber()));
+        shortages.addAll(itemRepository.decrementQuantities(quantities));
 
-        LocalDate today = LocalDate.now();
-        List<Delivery> deliveriesToFulfill = deliveryRepository.findByScheduledDateAndCompletedFalse(today);
+        if (!shortages.isEmpty()) {
+            for (StockShortage shortage : shortages) {
+                if (shortage.itemName() == null) {
+                    throw new ResourceNotFoundException("Item", "id", shortage.itemId());
+                }
+            }
 
-        for (Delivery delivery : deliveriesToFulfill) {
-            delivery.setCompleted(true);
-            delivery.setCompletedAt(LocalDateTime.now());
-            delivery.getOrder().setStatus(OrderStatus.FULFILLED);
+            log.warn("Insufficient inventory for order {}: {}", order.getOrderNumber(), shortages);
 
-            deliveryRepository.save(delivery);
-            log.info("Order {} marked as FULFILLED", delivery.getOrder().getOrderNumber());
+            throw new BadRequestException("Insufficient inventory for " + shortages.stream()
+                    .map(s -> String.format("%s (Available: %d, Requested: %d)",
+                            s.itemName(), s.available(), s.requested()))
+                    .collect(Collectors.joining(", ")));
         }
 
-        log.info("Fulfilled {} deliveries", deliveriesToFulfill.size());
+        Map<Long, Integer> shipped = new HashMap<>();
+        quantities.forEach((itemId, quantity) -> shipped.put(itemId, -quantity));
+        inventoryJournalService.recordAll(shipped, MovementType.SHIPMENT, order.getOrderNumber());
+
+        log.info("Decremented inventory for {} items of order {}",
+                quantities.size() + hotQuantities.size(), order.getOrderNumber());
     }
 
     // ==================== MAPPING METHODS ====================
 
     private OrderDTO mapToDTO(Order order) {
+        return mapToDTO(order, findReservedVolumes(List.of(order)));
+    }
+
+    private OrderDTO mapToDTO(Order order, Map<SlotKey, Double> reservedVolumes) {
         return OrderDTO.builder()
                 .id(order.getId())
                 .orderNumber(order.getOrderNumber())
@@ -453,23 +609,12 @@ public class OrderService {
                 .orderItems(order.getOrderItems().stream()
                         .map(this::mapOrderItemToDTO)
                         .collect(Collectors.toList()))
-                .delivery(order.getDelivery() != null ? mapDeliveryToDTO(order.getDelivery()) : null)
+                .delivery(order.getDelivery() != null ? mapDeliveryToDTO(order.getDelivery(), reservedVolumes) : null)
                 .createdAt(order.getCreatedAt())
                 .updatedAt(order.getUpdatedAt())
                 .build();
     }
 
-    private OrderSummaryDTO mapToSummaryDTO(Order order) {
-        return OrderSummaryDTO.builder()
-                .id(order.getId())
-                .orderNumber(order.getOrderNumber())
-                .clientUsername(order.getClient().getUsername())
-                .status(order.getStatus())
-                .submittedDate(order.getSubmittedDate())
-                .deadlineDate(order.getDeadlineDate())
-                .build();
-    }
-
     private OrderItemDTO mapOrderItemToDTO(OrderItem orderItem) {
         return OrderItemDTO.builder()
                 .id(orderItem.getId())
@@ -482,33 +627,83 @@ public class OrderService {
                 .build();
     }
 
-    private DeliveryDTO mapDeliveryToDTO(Delivery delivery) {
+    private DeliveryDTO mapDeliveryToDTO(Delivery delivery, Map<SlotKey, Double> reservedVolumes) {
+        List<Long> truckIds = delivery.getTrucks().stream()
+                .map(Truck::getId)
+                .collect(Collectors.toList());
         return DeliveryDTO.builder()
                 .id(delivery.getId())
                 .scheduledDate(delivery.getScheduledDate())
-                .truckIds(delivery.getTrucks().stream()
-                        .map(Truck::getId)
-                        .collect(Collectors.toList()))
+                .truckIds(truckIds)
                 .totalVolume(delivery.getTotalVolume())
+                .unusedCapacity(getUnusedCapacity(delivery, reservedVolumes))
                 .completed(delivery.isCompleted())
                 .completedAt(delivery.getCompletedAt())
                 .notes(delivery.getNotes())
                 .build();
     }
 
+    /**
+     * Space still free on the delivery's trucks that day, after every delivery sharing them.
+     */
+    private double getUnusedCapacity(Delivery delivery, Map<SlotKey, Double> reservedVolumes) {
+        return delivery.getTrucks().stream()
+                .mapToDouble(truck -> truck.getContainerVolume() - reservedVolumes.getOrDefault(
+                        new SlotKey(truck.getId(), delivery.getScheduledDate()), 0.0))
+                .sum();
+    }
+
+    private record SlotKey(Long truckId, LocalDate slotDate) {
+    }
+
+    /**
+     * Volume booked on the delivery trucks of the given orders, by truck and day, read with
+     * one query so mapping a page of orders does not select per delivery.
+     */
+    private Map<SlotKey, Double> findReservedVolumes(List<Order> orders) {
+        List<Delivery> deliveries = orders.stream()
+                .map(Order::getDelivery)
+                .filter(Objects::nonNull)
+                .toList();
+        if (deliveries.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<LocalDate> dates = deliveries.stream().map(Delivery::getScheduledDate).collect(Collectors.toSet());
+        Set<Long> truckIds = deliveries.stream()
+                .flatMap(delivery -> delivery.getTrucks().stream())
+                .map(Truck::getId)
+                .collect(Collectors.toSet());
+        // Dates and trucks are matched separately, so slots of other pairs may come back too
+        return truckDaySlotRepository.findBySlotDateInAndTruckIdIn(dates, truckIds).stream()
+                .collect(Collectors.toMap(slot -> new SlotKey(slot.getTruck().getId(), slot.getSlotDate()),
+                        TruckDaySlot::getReservedVolume));
+    }
+
     private List<OrderWarning> calculateOrderWarnings(Order order) {
         List<OrderWarning> warnings = new ArrayList<>();
 
+        // An approved order may draw on what it holds itself on top of what is still free
+        Map<Long, Integer> held = order.getStatus() == OrderStatus.APPROVED
+                ? inventoryReservationService.getHeldQuantities(order)
+                : Map.of();
+
+        // Leased to nodes but not handed out yet
+        Map<Long, Integer> pooled = hotStockService.getPooledQuantities(
+                order.getOrderItems().stream().map(OrderItem::getItem).toList());
+
         for (OrderItem orderItem : order.getOrderItems()) {
             Item item = orderItem.getItem();
-            if (orderItem.getRequestedQuantity() > item.getQuantity()) {
+            int available = item.getAvailableToPromise() + held.getOrDefault(item.getId(), 0)
+                    + pooled.getOrDefault(item.getId(), 0);
+            if (orderItem.getRequestedQuantity() > available) {
                 warnings.add(OrderWarning.builder()
                         .type("INSUFFICIENT_INVENTORY")
                         .severity("WARNING")
                         .message(String.format("Item '%s': requested %d, currently available %d",
                                 item.getItemName(),
                                 orderItem.getRequestedQuantity(),
-                                item.getQuantity()))
+                                available))
                         .build());
             }
         }
@@ -574,7 +769,7 @@ public class OrderService {
         }
 
         try {
-            List<LocalDate> availableDates = getAvailableDeliveryDates(order.getId());
+            List<LocalDate> availableDates = findAvailableDeliveryDates(order, allTrucks);
             if (availableDates.isEmpty()) {
                 warnings.add(OrderWarning.builder()
                         .type("NO_DELIVERY_SLOTS")
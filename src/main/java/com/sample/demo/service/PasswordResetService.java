@@ -8,14 +8,25 @@ import com.sample.demo.model.entity.PasswordResetToken;
 import com.sample.demo.model.entity.User;
 import com.sample.demo.repository.PasswordResetTokenRepository;
 import com.sample.demo.repository.UserRepository;
+import com.sample.demo.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -25,25 +36,34 @@ public class PasswordResetService {
     private final UserRepository userRepository;
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
+    private final PlatformTransactionManager transactionManager;
+
+    private final SecureRandom secureRandom = new SecureRandom();
 
     private static final int EXPIRY_HOURS = 24;
+    private static final int TOKEN_BYTES = 32;
+
+    @Value("${password-reset.purge.batch-size:1000}")
+    private int purgeBatchSize;
 
     @Transactional
     public String createPasswordResetToken(ForgotPasswordRequest request) {
         log.info("Processing password reset request for email: {}", request.getEmail());
 
         User user = userRepository.findByUsername(request.getEmail())
-                .or(() -> userRepository.findAll().stream()
-                        .filter(u -> u.getEmail().equals(request.getEmail()))
-                        .findFirst())
+                .or(() -> userRepository.findByEmail(request.getEmail()))
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", request.getEmail()));
 
         tokenRepository.deleteByUser(user);
 
-        String token = UUID.randomUUID().toString();
+        byte[] tokenBytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(tokenBytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
 
+        // Only the hash is stored, so a leaked table cannot be used to reset passwords
         PasswordResetToken resetToken = new PasswordResetToken();
-        resetToken.setToken(token);
+        resetToken.setTokenHash(hash(token));
         resetToken.setUser(user);
         resetToken.setExpiryDate(LocalDateTime.now().plusHours(EXPIRY_HOURS));
         resetToken.setUsed(false);
@@ -60,7 +80,7 @@ public class PasswordResetService {
     public void resetPassword(ResetPasswordRequest request) {
         log.info("Processing password reset with token");
 
-        PasswordResetToken resetToken = tokenRepository.findByToken(request.getToken())
+        PasswordResetToken resetToken = tokenRepository.findByTokenHash(hash(request.getToken()))
                 .orElseThrow(() -> new BadRequestException("Invalid or expired reset token"));
 
         if (resetToken.isUsed()) {
@@ -74,10 +94,45 @@ public class PasswordResetService {
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        principalCache.evict(user.getUsername());
 
         resetToken.setUsed(true);
         tokenRepository.save(resetToken);
 
         log.info("Password reset successfully for user: {}", user.getUsername());
     }
+
+    /**
+     * Deletes expired tokens in batches, each in its own short transaction, so a large
+     * backlog never loads every row or holds locks across the whole table.
+     *
+     * @return number of tokens deleted
+     */
+    public int purgeExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        int purged = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> {
+                List<Long> ids = tokenRepository.findIdsByExpiryDateBefore(now, PageRequest.of(0, purgeBatchSize));
+                tokenRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            purged += batch;
+        } while (batch == purgeBatchSize);
+
+        log.info("Purged {} expired password reset tokens", purged);
+        return purged;
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
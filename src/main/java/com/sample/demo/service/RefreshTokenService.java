@@ -0,0 +1,142 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.UnauthorizedException;
+import com.sample.demo.model.entity.RefreshToken;
+import com.sample.demo.model.entity.User;
+import com.sample.demo.repository.RefreshTokenRepository;
+import com.sample.demo.repository.UserRepository;
+import com.sample.demo.security.JwtUtils;
+import com.sample.demo.security.TokenRevocationList;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues, rotates and revokes refresh tokens. A refresh token can be used once; using
+ * it again means it was copied, so the whole session is revoked.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtils jwtUtils;
+    private final TokenRevocationList revocationList;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${jwt.refresh.purge.batch-size:1000}")
+    private int purgeBatchSize;
+
+    public record TokenPair(User user, String accessToken, String refreshToken) {
+    }
+
+    @Transactional
+    public TokenPair startSession(User user) {
+        return issueTokens(user, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public TokenPair rotate(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        String sessionId = claims.get(JwtUtils.SESSION_CLAIM, String.class);
+
+        if (revocationList.isRevoked(sessionId)) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        if (refreshTokenRepository.markUsed(claims.getId(), LocalDateTime.now()) == 0) {
+            log.warn("Refresh token reuse or revoked token presented for user '{}', revoking session", claims.getSubject());
+            revokeSession(sessionId);
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        User user = userRepository.findByUsername(claims.getSubject())
+                .filter(User::isEnabled)
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        return issueTokens(user, sessionId);
+    }
+
+    @Transactional
+    public void logout(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        revokeSession(claims.get(JwtUtils.SESSION_CLAIM, String.class));
+        log.info("User '{}' logged out", claims.getSubject());
+    }
+
+    /**
+     * Deletes refresh tokens that no longer matter. Revoked tokens are kept until they
+     * expire, since the revocation list is rebuilt from them. A used token is kept for
+     * the lifetime of an access token, so a session revoked later still has a revoked
+     * row covering every access token it issued; presenting a purged token again is
+     * still caught as reuse, because markUsed fails for unknown tokens too.
+     *
+     * @return number of tokens deleted
+     */
+    public int purgeStaleTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime usedBefore = now.minusNanos(jwtUtils.getExpiration() * 1_000_000);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        int purged = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> {
+                List<Long> ids = refreshTokenRepository.findPurgeableIds(now, usedBefore, PageRequest.of(0, purgeBatchSize));
+                refreshTokenRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            purged += batch;
+        } while (batch == purgeBatchSize);
+
+        log.info("Purged {} expired or used refresh tokens", purged);
+        return purged;
+    }
+
+    private void revokeSession(String sessionId) {
+        refreshTokenRepository.revokeSession(sessionId, LocalDateTime.now());
+        revocationList.revoke(sessionId);
+    }
+
+    private TokenPair issueTokens(User user, String sessionId) {
+        String tokenId = UUID.randomUUID().toString();
+
+        RefreshToken stored = new RefreshToken();
+        stored.setTokenId(tokenId);
+        stored.setSessionId(sessionId);
+        stored.setUser(user);
+        stored.setExpiresAt(LocalDateTime.now().plusNanos(jwtUtils.getRefreshExpiration() * 1_000_000));
+        refreshTokenRepository.save(stored);
+
+        return new TokenPair(user,
+                jwtUtils.generateToken(user, sessionId),
+                jwtUtils.generateRefreshToken(user, sessionId, tokenId));
+    }
+
+    private Claims parseRefreshToken(String refreshToken) {
+        try {
+            Claims claims = jwtUtils.parseClaims(refreshToken);
+            if (JwtUtils.REFRESH_TOKEN.equals(claims.get(JwtUtils.TYPE_CLAIM, String.class))
+                    && claims.getId() != null
+                    && claims.get(JwtUtils.SESSION_CLAIM, String.class) != null) {
+                return claims;
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid refresh token
+        }
+        throw new UnauthorizedException("Invalid refresh token");
+    }
+}
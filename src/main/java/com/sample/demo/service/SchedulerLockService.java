@@ -0,0 +1,144 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.SchedulerLock;
+import com.sample.demo.repository.SchedulerLockRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes a scheduled job run on one node at a time using lease rows in scheduler_locks.
+ * The node that wins the conditional update runs the job and extends the lease from a
+ * heartbeat thread until it finishes; if the node dies, the lease runs out and the next
+ * node to fire the job takes over. Leases are compared against each node's clock, so
+ * the lease should be well above the expected clock skew.
+ * A finished job keeps its lock until the minimum hold has passed since it started, so
+ * a node whose trigger fires a little later than this one's skips the run instead of
+ * repeating it. The holding node itself can take the lock again at any time.
+ */
+@Slf4j
+@Service
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final long leaseMillis;
+    private final long minHoldMillis;
+    private final String nodeId;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    public SchedulerLockService(SchedulerLockRepository repository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${scheduler.lock.lease:60000}") long leaseMillis,
+                                @Value("${scheduler.lock.min-hold:5000}") long minHoldMillis,
+                                @Value("${scheduler.lock.node-id:}") String nodeId) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseMillis = leaseMillis;
+        this.minHoldMillis = minHoldMillis;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "scheduler-lock-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the job if this node can take the named lock, otherwise skips it.
+     *
+     * @return true if the job ran here
+     */
+    public boolean runExclusively(String name, Runnable job) {
+        LocalDateTime acquiredAt = LocalDateTime.now();
+        if (!tryAcquire(name, acquiredAt)) {
+            log.debug("Skipping {}: lock is held by another node", name);
+            return false;
+        }
+
+        long heartbeatMillis = Math.max(1, leaseMillis / 3);
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleAtFixedRate(
+                () -> heartbeat(name), heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        try {
+            job.run();
+            return true;
+        } finally {
+            heartbeat.cancel(false);
+            release(name, acquiredAt.plusNanos(minHoldMillis * 1_000_000));
+        }
+    }
+
+    public List<SchedulerLock> findAll() {
+        return repository.findAll();
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    private boolean tryAcquire(String name, LocalDateTime now) {
+        if (!repository.existsById(name)) {
+            try {
+                repository.save(new SchedulerLock(name, null, null, LocalDate.EPOCH.atStartOfDay()));
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Scheduler lock {} was created by another node", name);
+            }
+        }
+
+        Integer updated = transactionTemplate.execute(status ->
+                repository.acquire(name, nodeId, now, now.plusNanos(leaseMillis * 1_000_000)));
+        return updated != null && updated == 1;
+    }
+
+    private void heartbeat(String name) {
+        try {
+            LocalDateTime leaseUntil = LocalDateTime.now().plusNanos(leaseMillis * 1_000_000);
+            Integer updated = transactionTemplate.execute(status -> repository.extend(name, nodeId, leaseUntil));
+            if (updated == null || updated == 0) {
+                log.warn("Lost scheduler lock {}; another node may be running the job", name);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to extend scheduler lock {}", name, e);
+        }
+    }
+
+    private void release(String name, LocalDateTime heldUntil) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = heldUntil.isAfter(now) ? heldUntil : now;
+        try {
+            transactionTemplate.execute(status -> repository.extend(name, nodeId, leaseUntil));
+        } catch (Exception e) {
+            log.warn("Failed to release scheduler lock {}; it expires with its lease", name, e);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
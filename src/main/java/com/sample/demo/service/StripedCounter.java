@@ -0,0 +1,93 @@
+package com.sample.demo.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Non-negative unit counter split over one stripe per core, so threads taking units at
+ * the same time mostly update different cache lines instead of retrying on one. A take
+ * starts at the calling thread's stripe and moves on to the others until it has enough;
+ * if all stripes together fall short, whatever it collected is put back.
+ */
+class StripedCounter {
+
+    // Stripes sit a cache line apart (8 longs) so neighbours do not false-share
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripes;
+
+    StripedCounter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    StripedCounter(int parallelism) {
+        this.stripes = Integer.highestOneBit(Math.max(1, parallelism - 1)) << 1;
+        this.cells = new AtomicLongArray(stripes * PADDING);
+    }
+
+    /**
+     * May fail while units are briefly held by a competing take that is itself about to
+     * fail; callers treat a miss as "go refill" rather than as a hard shortage.
+     *
+     * @return true if all units were taken, false if nothing was taken
+     */
+    boolean tryTake(long units) {
+        if (units <= 0) {
+            return true;
+        }
+        int start = home();
+        long needed = units;
+        for (int i = 0; i < stripes && needed > 0; i++) {
+            int cell = cellOf(start + i);
+            long current;
+            long taken;
+            do {
+                current = cells.get(cell);
+                taken = Math.min(current, needed);
+            } while (taken > 0 && !cells.compareAndSet(cell, current, current - taken));
+            needed -= taken;
+        }
+        if (needed > 0) {
+            add(units - needed);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Spreads the units over all stripes so later takes find them close to home.
+     */
+    void add(long units) {
+        if (units <= 0) {
+            return;
+        }
+        long share = units / stripes;
+        long remainder = units % stripes;
+        int start = home();
+        for (int i = 0; i < stripes; i++) {
+            long delta = share + (i < remainder ? 1 : 0);
+            if (delta > 0) {
+                cells.addAndGet(cellOf(start + i), delta);
+            }
+        }
+    }
+
+    /**
+     * Not an atomic snapshot while other threads are taking or adding.
+     */
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(cellOf(i));
+        }
+        return sum;
+    }
+
+    private int home() {
+        return (int) Thread.currentThread().threadId();
+    }
+
+    private int cellOf(int stripe) {
+        return (stripe & (stripes - 1)) * PADDING;
+    }
+}
@@ -6,37 +6,62 @@ import com.sample.demo.repository.SystemConfigRepository;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Serves system configuration from an immutable in-memory snapshot of the
+ * system_config table. Updates swap in a fresh snapshot once they commit, and changes
+ * made by other nodes are picked up by polling a cheap row count / version sum
+ * fingerprint instead of reloading the table.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SystemConfigService {
 
     private final SystemConfigRepository repository;
-    public static final String DELIVERY_PERIOD_KEY = "delivery.period.days";
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private record Snapshot(Map<String, Object> values, long rowCount, long versionSum) {
+    }
 
     @PostConstruct
-    @Transactional
     public void initialize() {
-        if (repository.findByConfigKey(DELIVERY_PERIOD_KEY).isEmpty()) {
-            SystemConfig config = new SystemConfig();
-            config.setConfigKey(DELIVERY_PERIOD_KEY);
-            config.setConfigValue("7");
-            config.setUpdatedAt(LocalDateTime.now());
-            repository.save(config);
-            log.info("Initialized delivery period: 7 days");
+        for (ConfigKey<?> key : ConfigKey.ALL) {
+            if (repository.findByConfigKey(key.getName()).isEmpty()) {
+                try {
+                    SystemConfig config = new SystemConfig();
+                    config.setConfigKey(key.getName());
+                    config.setConfigValue(String.valueOf(key.getDefaultValue()));
+                    config.setUpdatedAt(LocalDateTime.now());
+                    repository.save(config);
+                    log.info("Initialized {}: {}", key, key.getDefaultValue());
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("{} was initialized by another node", key);
+                }
+            }
         }
+        reload();
+    }
+
+    public <T> T get(ConfigKey<T> key) {
+        return key.cast(snapshot.get().values().get(key.getName()));
     }
 
-    @Transactional(readOnly = true)
     public int getDeliveryPeriod() {
-        return repository.findByConfigKey(DELIVERY_PERIOD_KEY)
-                .map(c -> Integer.parseInt(c.getConfigValue()))
-                .orElse(7);
+        return get(ConfigKey.DELIVERY_PERIOD_DAYS);
     }
 
     @Transactional
@@ -45,12 +70,67 @@ public class SystemConfigService {
             throw new BadRequestException("Delivery period must be between 1 and 30 days");
         }
 
-        SystemConfig config = repository.findByConfigKey(DELIVERY_PERIOD_KEY)
+        set(ConfigKey.DELIVERY_PERIOD_DAYS, days);
+        log.info("Updated delivery period to {} days", days);
+    }
+
+    /**
+     * Reloads the snapshot when another node has changed the configuration.
+     */
+    @Scheduled(fixedDelayString = "${config.refresh-interval:10000}")
+    public void refreshIfChanged() {
+        SystemConfigRepository.VersionFingerprint fingerprint = repository.findVersionFingerprint();
+        Snapshot current = snapshot.get();
+        if (fingerprint.getRowCount() != current.rowCount() || fingerprint.getVersionSum() != current.versionSum()) {
+            log.info("System configuration changed on another node, reloading");
+            reload();
+        }
+    }
+
+    private <T> void set(ConfigKey<T> key, T value) {
+        SystemConfig config = repository.findByConfigKey(key.getName())
                 .orElseThrow(() -> new BadRequestException("Configuration not found"));
 
-        config.setConfigValue(String.valueOf(days));
+        config.setConfigValue(String.valueOf(value));
         config.setUpdatedAt(LocalDateTime.now());
         repository.save(config);
-        log.info("Updated delivery period to {} days", days);
+
+        // Publish only what was committed
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload();
+            }
+        });
+    }
+
+    private void reload() {
+        List<SystemConfig> rows = repository.findAll();
+
+        Map<String, String> raw = new HashMap<>();
+        long versionSum = 0;
+        for (SystemConfig row : rows) {
+            raw.put(row.getConfigKey(), row.getConfigValue());
+            versionSum += row.getVersion() != null ? row.getVersion() : 0;
+        }
+
+        Map<String, Object> values = new HashMap<>();
+        for (ConfigKey<?> key : ConfigKey.ALL) {
+            values.put(key.getName(), parseOrDefault(key, raw.get(key.getName())));
+        }
+
+        snapshot.set(new Snapshot(Map.copyOf(values), rows.size(), versionSum));
+    }
+
+    private static Object parseOrDefault(ConfigKey<?> key, String raw) {
+        if (raw == null) {
+            return key.getDefaultValue();
+        }
+        try {
+            return key.parse(raw);
+        } catch (RuntimeException e) {
+            log.warn("Invalid value '{}' for {}, using default {}", raw, key, key.getDefaultValue());
+            return key.getDefaultValue();
+        }
     }
 }
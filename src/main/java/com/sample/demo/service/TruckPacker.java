@@ -0,0 +1,58 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.Truck;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Picks the smallest set of trucks whose combined free capacity covers a delivery.
+ * Trucks are taken largest first (which minimises the number of trucks), and the last
+ * truck is the best fit: the smallest remaining truck that covers what is left.
+ */
+public final class TruckPacker {
+
+    private TruckPacker() {
+    }
+
+    public record Packing(List<Truck> trucks, double unusedCapacity) {
+    }
+
+    /**
+     * @param candidates     trucks that may be used
+     * @param capacityOf     free capacity of a truck, e.g. its residual capacity for the day
+     * @param requiredVolume volume to cover
+     */
+    public static Optional<Packing> pack(List<Truck> candidates, ToDoubleFunction<Truck> capacityOf,
+                                         double requiredVolume) {
+        List<Truck> remaining = new ArrayList<>(candidates);
+        remaining.sort(Comparator.comparingDouble(capacityOf).reversed());
+
+        List<Truck> selected = new ArrayList<>();
+        double volumeLeft = requiredVolume;
+
+        while (!remaining.isEmpty()) {
+            Truck bestFit = null;
+            for (Truck truck : remaining) {
+                if (capacityOf.applyAsDouble(truck) >= volumeLeft) {
+                    bestFit = truck; // sorted descending, so the last match is the tightest fit
+                }
+            }
+
+            if (bestFit != null) {
+                selected.add(bestFit);
+                double capacity = selected.stream().mapToDouble(capacityOf).sum();
+                return Optional.of(new Packing(selected, capacity - requiredVolume));
+            }
+
+            Truck largest = remaining.removeFirst();
+            selected.add(largest);
+            volumeLeft -= capacityOf.applyAsDouble(largest);
+        }
+
+        return Optional.empty();
+    }
+}
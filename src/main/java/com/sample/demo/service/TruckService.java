@@ -8,7 +8,7 @@ import com.sample.demo.exception.DuplicateResourceException;
 import com.sample.demo.exception.ResourceNotFoundException;
 import com.sample.demo.model.entity.Truck;
 import com.sample.demo.repository.TruckRepository;
-import com.sample.demo.util.PatchUtil;
+import com.sample.demo.util.PropertyCopier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,6 +21,9 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class TruckService {
 
+    private static final PropertyCopier<PatchTruckRequest, Truck> TRUCK_PATCH =
+            PropertyCopier.of(PatchTruckRequest.class, Truck.class, "chassisNumber", "licensePlate", "containerVolume");
+
     private final TruckRepository truckRepository;
 
     @Transactional(readOnly = true)
@@ -119,7 +122,7 @@ public class TruckService {
             throw new DuplicateResourceException("Truck", "licensePlate", request.getLicensePlate());
         }
 
-        PatchUtil.copyNonNullProperties(request, truck);
+        TRUCK_PATCH.copyNonNullProperties(request, truck);
 
         Truck updatedTruck = truckRepository.save(truck);
         log.info("Truck partially updated successfully with id: {}", updatedTruck.getId());
@@ -7,7 +7,8 @@ import com.sample.demo.exception.DuplicateResourceException;
 import com.sample.demo.exception.ResourceNotFoundException;
 import com.sample.demo.model.entity.User;
 import com.sample.demo.repository.UserRepository;
-import com.sample.demo.util.PatchUtil;
+import com.sample.demo.security.PrincipalCache;
+import com.sample.demo.util.PropertyCopier;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,8 +22,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
 
+    // password is encoded and set separately, never copied raw
+    private static final PropertyCopier<PatchUserRequest, User> USER_PATCH =
+            PropertyCopier.of(PatchUserRequest.class, User.class, "username", "email", "role", "firstName", "lastName");
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -87,6 +93,8 @@ public class UserService {
             throw new DuplicateResourceException("User", "email", request.getEmail());
         }
 
+        principalCache.evict(user.getUsername());
+
         user.setUsername(request.getUsername());
         if (request.getPassword() != null && !request.getPassword().isEmpty()) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -119,11 +127,13 @@ public class UserService {
             throw new DuplicateResourceException("User", "email", request.getEmail());
         }
 
+        principalCache.evict(user.getUsername());
+
         if (request.getPassword() != null) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
 
-        PatchUtil.copyNonNullProperties(request, user);
+        USER_PATCH.copyNonNullProperties(request, user);
 
         User updatedUser = userRepository.save(user);
         log.info("User partially updated successfully with id: {}", updatedUser.getId());
@@ -135,11 +145,11 @@ public class UserService {
     public void deleteUser(Long id) {
         log.info("Deleting user with id: {}", id);
 
-        if (!userRepository.existsById(id)) {
-            throw new ResourceNotFoundException("User", "id", id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
-        userRepository.deleteById(id);
+        principalCache.evict(user.getUsername());
+        userRepository.delete(user);
         log.info("User deleted successfully with id: {}", id);
     }
 
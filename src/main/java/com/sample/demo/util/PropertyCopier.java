@@ -0,0 +1,122 @@
+package com.sample.demo.util;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Copies an explicit whitelist of properties from one bean type to another, skipping
+ * null values (PATCH semantics). Getters and setters are resolved once per
+ * (source, target, whitelist) and compiled into lambdas, so copying does no reflective
+ * lookups. A whitelisted property that is missing or has incompatible types fails when
+ * the copier is built rather than being skipped silently.
+ */
+public final class PropertyCopier<S, T> {
+
+    private static final Map<List<Object>, PropertyCopier<?, ?>> REGISTRY = new ConcurrentHashMap<>();
+
+    private final List<Property> properties;
+
+    private record Property(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter) {
+    }
+
+    private PropertyCopier(List<Property> properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param properties names of the properties that may be copied; anything else on
+     *                   the source (or target) is never touched
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, T> PropertyCopier<S, T> of(Class<S> sourceType, Class<T> targetType, String... properties) {
+        List<Object> key = List.of(sourceType, targetType, List.of(properties));
+        return (PropertyCopier<S, T>) REGISTRY.computeIfAbsent(key, k -> build(sourceType, targetType, properties));
+    }
+
+    public void copyNonNullProperties(S source, T target) {
+        for (Property property : properties) {
+            Object value = property.getter().apply(source);
+            if (value != null) {
+                property.setter().accept(target, value);
+            }
+        }
+    }
+
+    private static <S, T> PropertyCopier<S, T> build(Class<S> sourceType, Class<T> targetType, String[] names) {
+        Map<String, PropertyDescriptor> sourceProperties = describe(sourceType);
+        Map<String, PropertyDescriptor> targetProperties = describe(targetType);
+
+        List<Property> properties = new ArrayList<>(names.length);
+        for (String name : names) {
+            Method getter = Optional.ofNullable(sourceProperties.get(name))
+                    .map(PropertyDescriptor::getReadMethod)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            sourceType.getSimpleName() + " has no readable property '" + name + "'"));
+            Method setter = Optional.ofNullable(targetProperties.get(name))
+                    .map(PropertyDescriptor::getWriteMethod)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            targetType.getSimpleName() + " has no writable property '" + name + "'"));
+
+            Class<?> valueType = MethodType.methodType(getter.getReturnType()).wrap().returnType();
+            Class<?> parameterType = MethodType.methodType(setter.getParameterTypes()[0]).wrap().returnType();
+            if (!parameterType.isAssignableFrom(valueType)) {
+                throw new IllegalArgumentException("Property '" + name + "' is " + valueType.getSimpleName()
+                        + " on " + sourceType.getSimpleName() + " but " + parameterType.getSimpleName()
+                        + " on " + targetType.getSimpleName());
+            }
+
+            properties.add(new Property(name, compileGetter(sourceType, getter, valueType),
+                    compileSetter(targetType, setter, parameterType)));
+        }
+        return new PropertyCopier<>(List.copyOf(properties));
+    }
+
+    private static Map<String, PropertyDescriptor> describe(Class<?> type) {
+        try {
+            Map<String, PropertyDescriptor> descriptors = new HashMap<>();
+            for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+                descriptors.put(descriptor.getName(), descriptor);
+            }
+            return descriptors;
+        } catch (IntrospectionException e) {
+            throw new IllegalArgumentException("Cannot introspect " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(Class<?> owner, Method getter, Class<?> valueType) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    lookup.unreflect(getter),
+                    MethodType.methodType(valueType, owner));
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot compile getter " + getter, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> compileSetter(Class<?> owner, Method setter, Class<?> parameterType) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept",
+                    MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class),
+                    lookup.unreflect(setter),
+                    MethodType.methodType(void.class, owner, parameterType));
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot compile setter " + setter, e);
+        }
+    }
+}
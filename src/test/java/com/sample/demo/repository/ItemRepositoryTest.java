@@ -1,17 +1,30 @@
 package com.sample.demo.repository;
 
+import com.sample.demo.dto.common.CursorPage;
+import com.sample.demo.dto.item.ItemResponse;
+import com.sample.demo.dto.item.ItemSearchRequest;
+import com.sample.demo.exception.BadRequestException;
 import com.sample.demo.model.entity.Item;
+import com.sample.demo.service.ItemService;
 import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -23,6 +36,9 @@ class ItemRepositoryTest {
     @Autowired
     private EntityManager entityManager;
 
+    @Autowired
+    private ItemService itemService;
+
     private Item testItem;
 
     @BeforeEach
@@ -72,4 +88,118 @@ class ItemRepositoryTest {
         Item unchanged = itemRepository.findById(testItem.getId()).orElseThrow();
         assertEquals(100, unchanged.getQuantity(), "Quantity should remain unchanged");
     }
+
+    @Test
+    @Transactional
+    void testDecrementQuantities_ShouldApplyAll_WhenEveryItemHasStock() {
+        // Given: A second item with 10 units
+        Item other = newItem("TEST-SKU-002", 10);
+
+        // When: Decrement both in one pass
+        List<ItemRepositoryCustom.StockShortage> shortages = itemRepository.decrementQuantities(
+                new TreeMap<>(Map.of(testItem.getId(), 40, other.getId(), 10)));
+
+        // Then: Both quantities drop
+        assertTrue(shortages.isEmpty());
+        assertEquals(60, itemRepository.findById(testItem.getId()).orElseThrow().getQuantity());
+        assertEquals(0, itemRepository.findById(other.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @Transactional
+    void testDecrementQuantities_ShouldReportEveryShortage_AndApplyNothing() {
+        // Given: Two items, both short for the request
+        Item other = newItem("TEST-SKU-002", 10);
+
+        // When: Request more than available of both
+        List<ItemRepositoryCustom.StockShortage> shortages = itemRepository.decrementQuantities(
+                new TreeMap<>(Map.of(testItem.getId(), 150, other.getId(), 11)));
+
+        // Then: Both are reported and neither quantity changed
+        assertEquals(List.of(
+                new ItemRepositoryCustom.StockShortage(testItem.getId(), "Test Laptop", 100, 150),
+                new ItemRepositoryCustom.StockShortage(other.getId(), "Test Laptop", 10, 11)), shortages);
+
+        entityManager.clear();
+        assertEquals(100, itemRepository.findById(testItem.getId()).orElseThrow().getQuantity());
+        assertEquals(10, itemRepository.findById(other.getId()).orElseThrow().getQuantity());
+    }
+
+    @Test
+    @Transactional
+    void testReserveQuantities_ShouldHoldStock_AgainstLaterDecrements() {
+        // Given: 80 of the 100 units are reserved
+        assertTrue(itemRepository.reserveQuantities(new TreeMap<>(Map.of(testItem.getId(), 80))).isEmpty());
+
+        // When: Another order tries to take 30
+        List<ItemRepositoryCustom.StockShortage> shortages = itemRepository.decrementQuantities(
+                new TreeMap<>(Map.of(testItem.getId(), 30)));
+
+        // Then: Only the 20 unreserved units count as available
+        assertEquals(List.of(new ItemRepositoryCustom.StockShortage(testItem.getId(), "Test Laptop", 20, 30)), shortages);
+
+        // And releasing the hold makes the stock available again
+        itemRepository.releaseQuantities(new TreeMap<>(Map.of(testItem.getId(), 80)));
+        Item released = itemRepository.findById(testItem.getId()).orElseThrow();
+        assertEquals(100, released.getAvailableToPromise());
+    }
+
+    @Test
+    @Transactional
+    void testSearchSpecifications_ShouldMatchWildcardsLiterally_AndPageAfterId() {
+        // Given: An item whose SKU contains a LIKE wildcard
+        Item underscored = newItem("TEST_SKU_002", 10);
+
+        // When: Searching by prefix with the wildcard in the text
+        List<Item> matched = itemRepository.findAll(ItemSpecifications.startsWith("sku", "TEST_"));
+
+        // Then: The underscore matches only itself, so TEST-SKU-001 is left out
+        assertEquals(List.of(underscored.getId()), matched.stream().map(Item::getId).toList());
+
+        // And the keyset filter skips everything up to the given id
+        assertTrue(itemRepository.findAll(Specification.allOf(
+                ItemSpecifications.startsWith("sku", "TEST"),
+                ItemSpecifications.idAfter(underscored.getId()))).isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void testSearchItems_ShouldCrossPageBoundaries_WithoutSkipsOrRepeats() {
+        // Given: Three matching items
+        Item second = newItem("TEST-SKU-002", 10);
+        Item third = newItem("TEST-SKU-003", 10);
+        ItemSearchRequest request = new ItemSearchRequest();
+        request.setSku("TEST-SKU-");
+
+        // When: Reading pages of two
+        CursorPage<ItemResponse> page1 = itemService.searchItems(request, null, 2);
+        CursorPage<ItemResponse> page2 = itemService.searchItems(request, page1.getNextCursor(), 2);
+
+        // Then: The first page is full and points at the rest
+        assertEquals(List.of(testItem.getId(), second.getId()), page1.getContent().stream().map(ItemResponse::getId).toList());
+        assertTrue(page1.isHasNext());
+
+        // And the second page holds only the last item and ends the search
+        assertEquals(List.of(third.getId()), page2.getContent().stream().map(ItemResponse::getId).toList());
+        assertFalse(page2.isHasNext());
+        assertNull(page2.getNextCursor());
+    }
+
+    @Test
+    @Transactional
+    void testSearchItems_ShouldRejectMalformedCursor() {
+        // Not Base64, and Base64 of something that is not an id
+        assertThrows(BadRequestException.class, () -> itemService.searchItems(new ItemSearchRequest(), "%%%", 10));
+        assertThrows(BadRequestException.class, () -> itemService.searchItems(new ItemSearchRequest(), "bm90LWFuLWlk", 10));
+    }
+
+    private Item newItem(String sku, int quantity) {
+        Item item = new Item();
+        item.setItemName("Test Laptop");
+        item.setQuantity(quantity);
+        item.setUnitPrice(BigDecimal.valueOf(1000));
+        item.setPackageVolume(2.0);
+        item.setSku(sku);
+        return itemRepository.save(item);
+    }
 }
@@ -0,0 +1,121 @@
+package com.sample.demo.repository;
+
+import com.sample.demo.dto.common.CursorPage;
+import com.sample.demo.dto.order.OrderDTO;
+import com.sample.demo.exception.BadRequestException;
+import com.sample.demo.model.entity.Order;
+import com.sample.demo.model.entity.User;
+import com.sample.demo.model.enums.UserRole;
+import com.sample.demo.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderRepositoryTest {
+
+    private static final LocalDateTime TIED = LocalDateTime.of(2030, 1, 15, 10, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    private User client;
+
+    @BeforeEach
+    void setUp() {
+        // A client of its own, so the seeded orders stay out of the listings
+        client = new User();
+        client.setUsername("cursor-" + UUID.randomUUID().toString().substring(0, 8));
+        client.setPassword("password123");
+        client.setEmail(client.getUsername() + "@example.com");
+        client.setRole(UserRole.CLIENT);
+        client = userRepository.save(client);
+    }
+
+    @Test
+    @Transactional
+    void testFindSubmittedAfter_ShouldBreakDateTiesById() {
+        // Given: Three orders submitted at the same instant and one submitted earlier
+        Order first = newOrder(TIED);
+        Order second = newOrder(TIED);
+        Order third = newOrder(TIED);
+        Order earlier = newOrder(TIED.minusDays(1));
+
+        // When: Reading the first two rows
+        List<Order> head = orderRepository.findSubmittedAfter(null, client.getId(), null, null, PageRequest.ofSize(2));
+
+        // Then: The tie is ordered by id, newest first
+        assertEquals(List.of(third.getId(), second.getId()), ids(head));
+
+        // When: Continuing from the second row, which is inside the tie
+        List<Order> tail = orderRepository.findSubmittedAfter(null, client.getId(), TIED, second.getId(),
+                PageRequest.ofSize(10));
+
+        // Then: The rest of the tie comes before the earlier order, with nothing skipped or repeated
+        assertEquals(List.of(first.getId(), earlier.getId()), ids(tail));
+    }
+
+    @Test
+    @Transactional
+    void testGetClientOrdersByCursor_ShouldCrossPageBoundaries_IntoUnsubmittedOrders() {
+        // Given: Two tied submitted orders and one that was never submitted
+        Order first = newOrder(TIED);
+        Order second = newOrder(TIED);
+        Order draft = newOrder(null);
+
+        // When: Reading pages of two
+        CursorPage<OrderDTO> page1 = orderService.getClientOrdersByCursor(client.getUsername(), null, null, 2);
+
+        // Then: The first page ends exactly on the submitted orders and points past them
+        assertEquals(List.of(second.getId(), first.getId()), page1.getContent().stream().map(OrderDTO::getId).toList());
+        assertTrue(page1.isHasNext());
+        assertNotNull(page1.getNextCursor());
+
+        // When: Following the cursor
+        CursorPage<OrderDTO> page2 = orderService.getClientOrdersByCursor(client.getUsername(), null,
+                page1.getNextCursor(), 2);
+
+        // Then: The never-submitted order follows and the listing ends
+        assertEquals(List.of(draft.getId()), page2.getContent().stream().map(OrderDTO::getId).toList());
+        assertFalse(page2.isHasNext());
+        assertNull(page2.getNextCursor());
+    }
+
+    @Test
+    @Transactional
+    void testGetAllOrdersByCursor_ShouldRejectMalformedCursor() {
+        // Not Base64, Base64 without a separator, and a separator around a bad date
+        assertThrows(BadRequestException.class, () -> orderService.getAllOrdersByCursor(null, "%%%", 10));
+        assertThrows(BadRequestException.class, () -> orderService.getAllOrdersByCursor(null, "bm8tc2VwYXJhdG9y", 10));
+        assertThrows(BadRequestException.class, () -> orderService.getAllOrdersByCursor(null, "eWVzdGVyZGF5fDE", 10));
+    }
+
+    private Order newOrder(LocalDateTime submittedDate) {
+        Order order = new Order();
+        order.setOrderNumber("TEST-" + UUID.randomUUID());
+        order.setClient(client);
+        order.setSubmittedDate(submittedDate);
+        return orderRepository.save(order);
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
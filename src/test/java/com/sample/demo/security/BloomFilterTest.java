@@ -0,0 +1,43 @@
+package com.sample.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NeverMissesInsertedValues() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> inserted = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String sessionId = UUID.randomUUID().toString();
+            filter.put(sessionId);
+            inserted.add(sessionId);
+        }
+
+        assertTrue(inserted.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int probes = 100_000;
+        int falsePositives = 0;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < probes * 0.02, "False positive rate too high: " + falsePositives + "/" + probes);
+    }
+}
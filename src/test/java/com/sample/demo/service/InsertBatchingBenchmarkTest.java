@@ -0,0 +1,137 @@
+package com.sample.demo.service;
+
+import com.sample.demo.dto.order.CreateOrderRequest;
+import com.sample.demo.dto.order.OrderDTO;
+import com.sample.demo.dto.order.OrderItemRequest;
+import com.sample.demo.dto.order.ScheduleDeliveryRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares JDBC statements issued by createOrder and scheduleDelivery with insert
+ * batching disabled (one statement per row, as with IDENTITY ids) and enabled.
+ */
+@Slf4j
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class InsertBatchingBenchmarkTest {
+
+    private static final int ORDER_LINES = 50;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private record RoundTrips(long rowsInserted, long statements) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void createOrder_BatchesOrderLineInserts() {
+        RoundTrips unbatched = measure(1, this::createOrder);
+        RoundTrips batched = measure(BATCH_SIZE, this::createOrder);
+
+        log.info("createOrder with {} lines: {} statements unbatched, {} batched",
+                ORDER_LINES, unbatched.statements(), batched.statements());
+
+        assertEquals(ORDER_LINES + 1, batched.rowsInserted());
+        assertTrue(unbatched.statements() >= ORDER_LINES + 1);
+        assertTrue(batched.statements() * 4 < unbatched.statements(),
+                "Expected batched inserts to cut statements at least fourfold: " + unbatched + " vs " + batched);
+    }
+
+    @Test
+    void scheduleDelivery_BatchesInsertsAndIssuesNoMoreStatements() {
+        Long firstOrderId = createApprovedOrder();
+        Long secondOrderId = createApprovedOrder();
+        LocalDate date = orderService.getAvailableDeliveryDates(firstOrderId).get(0);
+
+        RoundTrips unbatched = measure(1, () -> scheduleDelivery(firstOrderId, date));
+        RoundTrips batched = measure(BATCH_SIZE, () -> scheduleDelivery(secondOrderId, date));
+
+        log.info("scheduleDelivery for {} lines: {} statements unbatched, {} batched",
+                ORDER_LINES, unbatched.statements(), batched.statements());
+
+        assertTrue(batched.statements() <= unbatched.statements(),
+                "Batching must not add statements: " + unbatched + " vs " + batched);
+    }
+
+    private RoundTrips measure(int jdbcBatchSize, Runnable operation) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+        statistics.clear();
+
+        operation.run();
+        entityManager.flush();
+
+        RoundTrips roundTrips = new RoundTrips(statistics.getEntityInsertCount(), statistics.getPrepareStatementCount());
+        entityManager.unwrap(Session.class).setJdbcBatchSize(null);
+        return roundTrips;
+    }
+
+    private Long createOrder() {
+        List<OrderItemRequest> lines = new ArrayList<>();
+        for (int i = 0; i < ORDER_LINES; i++) {
+            OrderItemRequest line = new OrderItemRequest();
+            line.setItemId((long) (i % 10) + 1);
+            line.setRequestedQuantity(1);
+            lines.add(line);
+        }
+
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setDeadlineDate(LocalDate.now().plusDays(30));
+        request.setOrderItems(lines);
+        return orderService.createOrder("client1", request).getId();
+    }
+
+    private Long createApprovedOrder() {
+        Long orderId = createOrder();
+        orderService.submitOrder("client1", orderId);
+        orderService.approveOrder(orderId);
+        return orderId;
+    }
+
+    private OrderDTO scheduleDelivery(Long orderId, LocalDate date) {
+        ScheduleDeliveryRequest request = new ScheduleDeliveryRequest();
+        request.setScheduledDate(date);
+        request.setAutoAssignTrucks(true);
+        return orderService.scheduleDelivery(orderId, request);
+    }
+}
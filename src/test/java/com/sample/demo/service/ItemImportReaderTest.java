@@ -0,0 +1,99 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportReaderTest {
+
+    @Test
+    void testCsv_ShouldParseQuotedFields_WithCommasQuotesAndLineBreaks() throws IOException {
+        // Given: A header and a record whose quoted fields hold commas, quotes and a line break
+        String csv = """
+                sku,itemName,quantity,unitPrice,packageVolume,description
+                SKU-1,"Desk, standing",5,599.99,0.35,"The ""Pro"" model
+                with memory presets"
+                """;
+
+        // When: Reading the catalog
+        List<ItemImportReader.Row> rows = read(csv, ItemImportService.Format.CSV);
+
+        // Then: One row starting on line 2, with the quoted text unescaped
+        assertEquals(1, rows.size());
+        ItemImportReader.Row row = rows.get(0);
+        assertNull(row.error());
+        assertEquals(2, row.line());
+        assertEquals("Desk, standing", row.item().getItemName());
+        assertEquals(5, row.item().getQuantity());
+        assertEquals(new BigDecimal("599.99"), row.item().getUnitPrice());
+        assertEquals("The \"Pro\" model\nwith memory presets", row.item().getDescription());
+    }
+
+    @Test
+    void testCsv_ShouldFailOnlyMalformedRows() throws IOException {
+        // Given: An unquoted comma, a bad number, a stray quote and a good row
+        String csv = """
+                SKU-1,Desk, standing,5,599.99,0.35,desc
+                SKU-2,Chair,many,1.00,0.2,
+                SKU-3,Ch"air,1,1.00,0.2,
+                SKU-4,Lamp,2,19.99,0.01
+                """;
+
+        // When: Reading the catalog
+        List<ItemImportReader.Row> rows = read(csv, ItemImportService.Format.CSV);
+
+        // Then: Each bad row fails on its own line and the good one parses
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).error().contains("quote fields that contain commas"));
+        assertTrue(rows.get(1).error().startsWith("Malformed row"));
+        assertEquals(2, rows.get(1).line());
+        assertTrue(rows.get(2).error().contains("unexpected quote"));
+        assertNull(rows.get(3).error());
+        assertNull(rows.get(3).item().getDescription());
+    }
+
+    @Test
+    void testCsv_ShouldFail_WhenQuoteIsNeverClosed() throws IOException {
+        List<ItemImportReader.Row> rows = read("SKU-1,\"Desk,5,599.99,0.35,\n", ItemImportService.Format.CSV);
+
+        assertEquals(1, rows.size());
+        assertEquals("Malformed row: quoted field is not closed", rows.get(0).error());
+    }
+
+    @Test
+    void testNdjson_ShouldParseItems_AndFailMalformedLines() throws IOException {
+        // Given: A good line, a blank line and a truncated line
+        String ndjson = """
+                {"sku":"SKU-1","itemName":"Desk","quantity":5,"unitPrice":599.99,"packageVolume":0.35}
+
+                {"sku":"SKU-2",
+                """;
+
+        // When: Reading in chunks of one
+        ItemImportReader reader = reader(ndjson, ItemImportService.Format.NDJSON);
+        List<ItemImportReader.Row> first = reader.nextChunk(1);
+        List<ItemImportReader.Row> second = reader.nextChunk(1);
+
+        // Then: Line numbers count the blank line and the bad line fails on its own
+        assertEquals("SKU-1", first.get(0).item().getSku());
+        assertEquals(3, second.get(0).line());
+        assertNull(second.get(0).item());
+        assertTrue(second.get(0).error().startsWith("Malformed row"));
+        assertTrue(reader.nextChunk(1).isEmpty());
+    }
+
+    private List<ItemImportReader.Row> read(String input, ItemImportService.Format format) throws IOException {
+        return reader(input, format).nextChunk(100);
+    }
+
+    private ItemImportReader reader(String input, ItemImportService.Format format) {
+        return new ItemImportReader(new BufferedReader(new StringReader(input)), format, new ObjectMapper());
+    }
+}
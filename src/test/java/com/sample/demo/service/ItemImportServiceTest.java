@@ -0,0 +1,137 @@
+package com.sample.demo.service;
+
+import com.sample.demo.dto.item.ItemImportResult;
+import com.sample.demo.dto.item.ItemImportResult.Action;
+import com.sample.demo.dto.item.ItemImportSummary;
+import com.sample.demo.model.entity.InventoryMovement;
+import com.sample.demo.model.entity.Item;
+import com.sample.demo.model.enums.MovementType;
+import com.sample.demo.repository.InventoryMovementRepository;
+import com.sample.demo.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ItemImportServiceTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private InventoryMovementRepository movementRepository;
+
+    private String prefix;
+    private Item stored;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "IMP-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        stored = new Item();
+        stored.setSku(prefix + "A");
+        stored.setItemName("Old Name");
+        stored.setQuantity(10);
+        stored.setUnitPrice(new BigDecimal("5.00"));
+        stored.setPackageVolume(0.1);
+        stored = itemRepository.save(stored);
+    }
+
+    @Test
+    void testDryRun_ShouldReportChanges_AndWriteNothing() throws IOException {
+        // Given: An update of the stored item and a new item
+        String csv = prefix + "A,New Name,15,5.00,0.1,\n"
+                + prefix + "B,Lamp,3,19.99,0.01,\n";
+
+        // When: Importing as a dry run
+        List<ItemImportResult> results = new ArrayList<>();
+        ItemImportSummary summary = itemImportService.importItems(input(csv), ItemImportService.Format.CSV, true, results::addAll);
+
+        // Then: Both changes are reported
+        assertEquals(Action.UPDATED, results.get(0).getAction());
+        assertEquals(List.of("itemName", "quantity"), results.get(0).getChanges());
+        assertEquals(Action.CREATED, results.get(1).getAction());
+        assertTrue(summary.isDryRun());
+
+        // And nothing was written
+        Item unchanged = itemRepository.findById(stored.getId()).orElseThrow();
+        assertEquals("Old Name", unchanged.getItemName());
+        assertEquals(10, unchanged.getQuantity());
+        assertFalse(itemRepository.existsBySku(prefix + "B"));
+        assertTrue(importMovements(stored.getId()).isEmpty());
+    }
+
+    @Test
+    void testImport_ShouldUpsertBySku_AndJournalQuantityChanges() throws IOException {
+        // Given: A quantity change of the stored item and a new item
+        String csv = prefix + "A,Old Name,15,5.00,0.1,\n"
+                + prefix + "B,Lamp,3,19.99,0.01,\n";
+
+        // When: Importing
+        List<ItemImportResult> results = new ArrayList<>();
+        itemImportService.importItems(input(csv), ItemImportService.Format.CSV, false, results::addAll);
+
+        // Then: The stored item is updated and journaled by its change
+        assertEquals(Action.UPDATED, results.get(0).getAction());
+        assertEquals(15, itemRepository.findById(stored.getId()).orElseThrow().getQuantity());
+        assertEquals(List.of(5), importMovements(stored.getId()).stream().map(InventoryMovement::getDelta).toList());
+
+        // And the new item is created and journaled with its opening quantity
+        Long createdId = results.get(1).getItemId();
+        assertEquals(Action.CREATED, results.get(1).getAction());
+        assertEquals(List.of(3), importMovements(createdId).stream().map(InventoryMovement::getDelta).toList());
+
+        // When: The same catalog is imported again
+        results.clear();
+        itemImportService.importItems(input(csv), ItemImportService.Format.CSV, false, results::addAll);
+
+        // Then: Nothing changes and nothing more is journaled
+        assertTrue(results.stream().allMatch(result -> result.getAction() == Action.UNCHANGED));
+        assertEquals(1, importMovements(stored.getId()).size());
+    }
+
+    @Test
+    void testImport_ShouldFailDuplicateSkuInChunk_AndApplyTheFirst() throws IOException {
+        // Given: The same SKU twice
+        String ndjson = """
+                {"sku":"%1$sA","itemName":"First","quantity":10,"unitPrice":5.00,"packageVolume":0.1}
+                {"sku":"%1$sA","itemName":"Second","quantity":10,"unitPrice":5.00,"packageVolume":0.1}
+                """.formatted(prefix);
+
+        // When: Importing
+        List<ItemImportResult> results = new ArrayList<>();
+        ItemImportSummary summary = itemImportService.importItems(input(ndjson), ItemImportService.Format.NDJSON, false, results::addAll);
+
+        // Then: The second row fails and the first is applied
+        assertEquals(Action.UPDATED, results.get(0).getAction());
+        assertEquals(Action.FAILED, results.get(1).getAction());
+        assertEquals("Duplicate SKU, already on line 1", results.get(1).getError());
+        assertEquals(1, summary.getFailedRows());
+        assertEquals("First", itemRepository.findById(stored.getId()).orElseThrow().getItemName());
+    }
+
+    private List<InventoryMovement> importMovements(Long itemId) {
+        return movementRepository.findAll().stream()
+                .filter(movement -> movement.getItemId().equals(itemId) && movement.getType() == MovementType.IMPORT)
+                .toList();
+    }
+
+    private static ByteArrayInputStream input(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package com.sample.demo.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.sample.demo.dto.order.OrderItemRequest;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void testCsv_ShouldGroupConsecutiveRowsWithSameReference_IntoOneOrder() throws IOException {
+        // Given: A header, two rows of order A and one of order B
+        String csv = """
+                orderRef,deadlineDate,itemId,requestedQuantity
+                A,2030-01-15,1,2
+                A,2030-01-15,2,3
+
+                B,2030-02-01,1,1
+                """;
+
+        // When: Reading the import
+        List<OrderImportReader.Row> rows = read(csv, OrderImportService.Format.CSV, 100);
+
+        // Then: Two orders, each starting on its first row's line
+        assertEquals(2, rows.size());
+        OrderImportReader.Row first = rows.get(0);
+        assertNull(first.error());
+        assertEquals(2, first.line());
+        assertEquals("A", first.order().getReference());
+        assertEquals(LocalDate.of(2030, 1, 15), first.order().getDeadlineDate());
+        assertEquals(List.of(1L, 2L), first.order().getOrderItems().stream().map(OrderItemRequest::getItemId).toList());
+        assertEquals(List.of(2, 3), first.order().getOrderItems().stream().map(OrderItemRequest::getRequestedQuantity).toList());
+
+        assertEquals(5, rows.get(1).line());
+        assertEquals("B", rows.get(1).order().getReference());
+    }
+
+    @Test
+    void testCsv_ShouldKeepGroupingAcrossChunkBoundaries() throws IOException {
+        // Given: Three orders read one per chunk
+        OrderImportReader reader = reader("A,2030-01-15,1,2\nA,2030-01-15,2,3\nB,2030-01-15,1,1\nC,2030-01-15,1,1\n",
+                OrderImportService.Format.CSV);
+
+        // When / Then: The row read ahead for the next order is not lost between chunks
+        assertEquals("A", reader.nextChunk(1).get(0).order().getReference());
+        assertEquals("B", reader.nextChunk(1).get(0).order().getReference());
+        assertEquals("C", reader.nextChunk(1).get(0).order().getReference());
+        assertTrue(reader.nextChunk(1).isEmpty());
+    }
+
+    @Test
+    void testCsv_ShouldFailWholeOrder_WhenAnyOfItsRowsIsMalformed() throws IOException {
+        // Given: A bad quantity in A, a differing deadline in B, a short row in C, then a good order D
+        String csv = """
+                A,2030-01-15,1,2
+                A,2030-01-15,2,lots
+                B,2030-01-15,1,1
+                B,2030-01-16,2,1
+                C,2030-01-15,1
+                D,2030-01-15,1,1
+                """;
+
+        // When: Reading the import
+        List<OrderImportReader.Row> rows = read(csv, OrderImportService.Format.CSV, 100);
+
+        // Then: Each bad order fails with its offending line, and the rows after it still parse
+        assertEquals(4, rows.size());
+        assertTrue(rows.get(0).error().startsWith("Line 2: "));
+        assertEquals("Line 4: deadlineDate differs from the rest of order B", rows.get(1).error());
+        assertEquals("Line 5: expected 4 columns (orderRef,deadlineDate,itemId,requestedQuantity)", rows.get(2).error());
+        assertNull(rows.get(3).error());
+        assertEquals("D", rows.get(3).order().getReference());
+    }
+
+    @Test
+    void testNdjson_ShouldParseOrders_AndFailMalformedLines() throws IOException {
+        // Given: A good order and a line that is not JSON
+        String ndjson = """
+                {"reference":"A","deadlineDate":"2030-01-15","orderItems":[{"itemId":1,"requestedQuantity":2}]}
+                not json
+                """;
+
+        // When: Reading the import
+        List<OrderImportReader.Row> rows = read(ndjson, OrderImportService.Format.NDJSON, 100);
+
+        // Then: The good order parses and the bad line fails on its own
+        assertEquals(2, rows.size());
+        assertEquals(LocalDate.of(2030, 1, 15), rows.get(0).order().getDeadlineDate());
+        assertEquals(1, rows.get(0).order().getOrderItems().size());
+        assertEquals(2, rows.get(1).line());
+        assertNull(rows.get(1).order());
+        assertTrue(rows.get(1).error().startsWith("Malformed row"));
+    }
+
+    private List<OrderImportReader.Row> read(String input, OrderImportService.Format format, int chunkSize) throws IOException {
+        return reader(input, format).nextChunk(chunkSize);
+    }
+
+    private OrderImportReader reader(String input, OrderImportService.Format format) {
+        return new OrderImportReader(new BufferedReader(new StringReader(input)), format, objectMapper);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sample.demo.service;
+
+import com.sample.demo.model.entity.NumberSequence;
+import com.sample.demo.repository.NumberSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderNumberAllocatorTest {
+
+    private static final int BLOCK_SIZE = 100;
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 14);
+
+    @Mock
+    private NumberSequenceRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OrderNumberAllocator allocator;
+
+    // Rows of number_sequences by name; a day's row appears once saveAndFlush created it
+    private final Map<String, NumberSequence> sequences = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(allocator, "blockSize", BLOCK_SIZE);
+        when(repository.findByNameForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(sequences.get(invocation.<String>getArgument(0))));
+        when(repository.saveAndFlush(any(NumberSequence.class))).thenAnswer(invocation -> {
+            NumberSequence created = invocation.getArgument(0);
+            sequences.put(created.getName(), created);
+            return created;
+        });
+    }
+
+    @Test
+    void nextOrderNumber_FormatsDateAndSequence() {
+        String orderNumber = allocator.nextOrderNumber(TODAY);
+
+        assertEquals("ORD-20260314-00001", orderNumber);
+        assertEquals(1L + BLOCK_SIZE, sequences.get("order.number.20260314").getNextValue());
+    }
+
+    @Test
+    void nextOrderNumber_StartsEachDayAtOne() {
+        allocator.nextOrderNumber(TODAY);
+        allocator.nextOrderNumber(TODAY);
+
+        assertEquals("ORD-20260315-00001", allocator.nextOrderNumber(TODAY.plusDays(1)));
+        // A caller still on the previous day's clock gets the new day's next number
+        assertEquals("ORD-20260315-00002", allocator.nextOrderNumber(TODAY));
+        verify(repository, times(2)).saveAndFlush(any(NumberSequence.class));
+    }
+
+    @Test
+    void nextOrderNumber_ConcurrentCallers_GetUniqueNumbersFromFewBlocks() throws Exception {
+        int threads = 8;
+        int perThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                List<Long> values = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    String orderNumber = allocator.nextOrderNumber(TODAY);
+                    values.add(Long.valueOf(orderNumber.substring(orderNumber.lastIndexOf('-') + 1)));
+                }
+                return values;
+            }));
+        }
+        start.countDown();
+
+        Set<Long> seen = new HashSet<>();
+        for (Future<List<Long>> future : futures) {
+            seen.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        int total = threads * perThread;
+        assertEquals(total, seen.size());
+        assertEquals(1L, Collections.min(seen));
+        assertEquals(total, Collections.max(seen));
+        verify(repository, times(total / BLOCK_SIZE)).save(any(NumberSequence.class));
+    }
+}
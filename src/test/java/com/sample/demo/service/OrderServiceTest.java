@@ -2,6 +2,8 @@ package com.sample.demo.service;
 
 import com.sample.demo.dto.order.OrderDTO;
 import com.sample.demo.dto.order.OrderWarning;
+import com.sample.demo.dto.order.ScheduleDeliveryRequest;
+import com.sample.demo.exception.BadRequestException;
 import com.sample.demo.model.entity.*;
 import com.sample.demo.model.enums.OrderStatus;
 import com.sample.demo.repository.*;
@@ -11,13 +13,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,15 +39,30 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
     @Mock
     private TruckRepository truckRepository;
 
     @Mock
-    private DeliveryRepository deliveryRepository;
+    private TruckDaySlotRepository truckDaySlotRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
 
     @Mock
     private SystemConfigService configService;
 
+    @Mock
+    private InventoryReservationService inventoryReservationService;
+
+    @Mock
+    private InventoryJournalService inventoryJournalService;
+
+    @Mock
+    private HotStockService hotStockService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -95,16 +120,21 @@ class OrderServiceTest {
     @Test
     void testGetOrderById_WhenNoDeliverySlots_ShouldShowWarning() {
         // Given: Order needs 250 volume, trucks have 250 total capacity but all are scheduled
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
 
-        // Mock that all trucks are busy for all available dates
-        List<Delivery> scheduledDeliveries = new ArrayList<>();
-        Delivery delivery1 = new Delivery();
-        delivery1.setTrucks(allTrucks);
-        scheduledDeliveries.add(delivery1);
-        when(deliveryRepository.findByScheduledDate(any(LocalDate.class))).thenReturn(scheduledDeliveries);
+        // Mock that all trucks are fully booked for all available dates
+        List<TruckDaySlot> bookedSlots = new ArrayList<>();
+        for (LocalDate date = LocalDate.now().plusDays(1); !date.isAfter(order.getDeadlineDate()); date = date.plusDays(1)) {
+            for (Truck truck : allTrucks) {
+                TruckDaySlot slot = new TruckDaySlot(truck, date);
+                slot.setReservedVolume(truck.getContainerVolume());
+                bookedSlots.add(slot);
+            }
+        }
+        when(truckDaySlotRepository.findBySlotDateBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(bookedSlots);
 
         // When: Manager gets order details
         OrderDTO result = orderService.getOrderById(1L);
@@ -134,7 +164,7 @@ class OrderServiceTest {
         OrderItem orderItem = order.getOrderItems().getFirst();
         orderItem.setRequestedQuantity(150);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
 
@@ -158,12 +188,13 @@ class OrderServiceTest {
     @Test
     void testGetOrderById_WhenTrucksAvailable_ShouldNotShowNoDeliverySlotsWarning() {
         // Given: Order needs 250 volume, trucks have 250 capacity and some are available
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
 
         // Mock that no trucks are scheduled (empty list)
-        when(deliveryRepository.findByScheduledDate(any(LocalDate.class))).thenReturn(new ArrayList<>());
+        when(truckDaySlotRepository.findBySlotDateBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new ArrayList<>());
 
         // When: Manager gets order details
         OrderDTO result = orderService.getOrderById(1L);
@@ -176,15 +207,20 @@ class OrderServiceTest {
                 .anyMatch(w -> "NO_DELIVERY_SLOTS".equals(w.getType()));
 
         assertFalse(hasNoDeliverySlotsWarning, "Should NOT have NO_DELIVERY_SLOTS warning when trucks are available");
+
+        // Fleet and deliveries are loaded once for the whole window
+        verify(truckRepository, times(1)).findAll();
+        verify(truckDaySlotRepository, times(1)).findBySlotDateBetween(any(LocalDate.class), any(LocalDate.class));
     }
 
     @Test
     void testGetOrderById_WhenInsufficientInventory_ShouldShowWarning() {
         // Given: Order requests 125 items but only 100 available
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
-        when(deliveryRepository.findByScheduledDate(any(LocalDate.class))).thenReturn(new ArrayList<>());
+        when(truckDaySlotRepository.findBySlotDateBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new ArrayList<>());
 
         // When: Manager gets order details
         OrderDTO result = orderService.getOrderById(1L);
@@ -214,7 +250,7 @@ class OrderServiceTest {
         // Given: Order has deadline in the past
         order.setDeadlineDate(LocalDate.now().minusDays(1));
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
 
@@ -245,10 +281,11 @@ class OrderServiceTest {
         OrderItem orderItem = order.getOrderItems().getFirst();
         orderItem.setRequestedQuantity(100);
 
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(order));
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
         when(truckRepository.findAll()).thenReturn(allTrucks);
         when(configService.getDeliveryPeriod()).thenReturn(7);
-        when(deliveryRepository.findByScheduledDate(any(LocalDate.class))).thenReturn(new ArrayList<>());
+        when(truckDaySlotRepository.findBySlotDateBetween(any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(new ArrayList<>());
 
         OrderDTO result = orderService.getOrderById(1L);
 
@@ -268,4 +305,138 @@ class OrderServiceTest {
 
         assertEquals("INFO", warning.getSeverity());
     }
+
+    @Test
+    void testScheduleDelivery_WhenTruckSlotAlreadyTaken_ShouldRejectWithoutSaving() {
+        // Given: Another manager booked one of the trucks for the same date concurrently
+        LocalDate deliveryDate = LocalDate.now().plusDays(1);
+        while (deliveryDate.getDayOfWeek() == DayOfWeek.SATURDAY || deliveryDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            deliveryDate = deliveryDate.plusDays(1);
+        }
+
+        ScheduleDeliveryRequest request = new ScheduleDeliveryRequest();
+        request.setScheduledDate(deliveryDate);
+        request.setTruckIds(List.of(1L, 2L));
+
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
+        when(truckRepository.findAllById(anyCollection())).thenReturn(allTrucks);
+        when(truckDaySlotRepository.saveAllAndFlush(anyList()))
+                .thenThrow(new DataIntegrityViolationException("uk_truck_day_slot"));
+
+        // When / Then: The unique slot constraint surfaces as a bad request and nothing is persisted
+        BadRequestException ex = assertThrows(BadRequestException.class,
+                () -> orderService.scheduleDelivery(1L, request));
+
+        assertTrue(ex.getMessage().contains("booked concurrently"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    void testScheduleDelivery_WithAutoAssign_ShouldPickSmallestCoveringTruck() {
+        // Given: Order needs 90 volume, trucks of 100 and 150 are free
+        order.getOrderItems().getFirst().setRequestedQuantity(45);
+        LocalDate deliveryDate = LocalDate.now().plusDays(1);
+        while (deliveryDate.getDayOfWeek() == DayOfWeek.SATURDAY || deliveryDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            deliveryDate = deliveryDate.plusDays(1);
+        }
+
+        ScheduleDeliveryRequest request = new ScheduleDeliveryRequest();
+        request.setScheduledDate(deliveryDate);
+        request.setAutoAssignTrucks(true);
+
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
+        when(truckRepository.findAll()).thenReturn(allTrucks);
+        when(truckDaySlotRepository.findBySlotDateBetween(deliveryDate, deliveryDate)).thenReturn(new ArrayList<>());
+        List<TruckDaySlot> booked = new ArrayList<>();
+        when(truckDaySlotRepository.saveAllAndFlush(anyList())).thenAnswer(inv -> {
+            booked.addAll(inv.getArgument(0));
+            return booked;
+        });
+        when(truckDaySlotRepository.findBySlotDateInAndTruckIdIn(Set.of(deliveryDate), Set.of(1L))).thenReturn(booked);
+        when(itemRepository.decrementQuantities(new TreeMap<>(Map.of(1L, 45)))).thenReturn(List.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        OrderDTO result = orderService.scheduleDelivery(1L, request);
+
+        // Then: Only the 100 volume truck is used, leaving 10 unused
+        assertEquals(List.of(1L), result.getDelivery().getTruckIds());
+        assertEquals(10.0, result.getDelivery().getUnusedCapacity(), 0.0001);
+    }
+
+    @Test
+    void testScheduleDelivery_WhenTruckPartiallyLoaded_ShouldShareRemainingCapacity() {
+        // Given: Truck 1 (100) already carries 40 on the date, order needs 50
+        order.getOrderItems().getFirst().setRequestedQuantity(25);
+        LocalDate deliveryDate = LocalDate.now().plusDays(1);
+        while (deliveryDate.getDayOfWeek() == DayOfWeek.SATURDAY || deliveryDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            deliveryDate = deliveryDate.plusDays(1);
+        }
+
+        TruckDaySlot existingSlot = new TruckDaySlot(allTrucks.getFirst(), deliveryDate);
+        existingSlot.setReservedVolume(40.0);
+
+        ScheduleDeliveryRequest request = new ScheduleDeliveryRequest();
+        request.setScheduledDate(deliveryDate);
+        request.setTruckIds(List.of(1L));
+
+        when(orderRepository.findDetailById(1L)).thenReturn(Optional.of(order));
+        when(truckRepository.findAllById(anyCollection())).thenReturn(List.of(allTrucks.getFirst()));
+        when(truckDaySlotRepository.findBySlotDateBetween(deliveryDate, deliveryDate)).thenReturn(List.of(existingSlot));
+        when(truckDaySlotRepository.findBySlotDateInAndTruckIdIn(Set.of(deliveryDate), Set.of(1L))).thenReturn(List.of(existingSlot));
+        when(itemRepository.decrementQuantities(new TreeMap<>(Map.of(1L, 25)))).thenReturn(List.of());
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        OrderDTO result = orderService.scheduleDelivery(1L, request);
+
+        // Then: The truck is shared and its slot now carries both loads
+        assertEquals(List.of(1L), result.getDelivery().getTruckIds());
+        assertEquals(90.0, existingSlot.getReservedVolume(), 0.0001);
+        verify(truckDaySlotRepository).saveAllAndFlush(List.of(existingSlot));
+
+        // And the unused capacity counts the other delivery's load too
+        assertEquals(10.0, result.getDelivery().getUnusedCapacity(), 0.0001);
+    }
+
+    @Test
+    void testGetClientOrders_ShouldReadTruckSlotsOfWholePage_InOneQuery() {
+        // Given: Two delivered orders on different days, truck 1 holding 60 on the first
+        // day and truck 2 full on the second
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        LocalDate secondDay = firstDay.plusDays(1);
+        Order other = new Order();
+        other.setId(2L);
+        other.setOrderNumber("ORD-002");
+        other.setClient(order.getClient());
+        order.setDelivery(newDelivery(order, firstDay, allTrucks.get(0)));
+        other.setDelivery(newDelivery(other, secondDay, allTrucks.get(1)));
+
+        TruckDaySlot firstSlot = new TruckDaySlot(allTrucks.get(0), firstDay);
+        firstSlot.setReservedVolume(60.0);
+        TruckDaySlot secondSlot = new TruckDaySlot(allTrucks.get(1), secondDay);
+        secondSlot.setReservedVolume(150.0);
+
+        when(userRepository.findByUsername("client1")).thenReturn(Optional.of(order.getClient()));
+        when(orderRepository.findByClient(order.getClient(), Pageable.unpaged()))
+                .thenReturn(new PageImpl<>(List.of(order, other)));
+        when(truckDaySlotRepository.findBySlotDateInAndTruckIdIn(Set.of(firstDay, secondDay), Set.of(1L, 2L)))
+                .thenReturn(List.of(firstSlot, secondSlot));
+
+        // When
+        Page<OrderDTO> result = orderService.getClientOrders("client1", null, Pageable.unpaged());
+
+        // Then: Each delivery sees only its own truck and day, from a single slot query
+        assertEquals(40.0, result.getContent().get(0).getDelivery().getUnusedCapacity(), 0.0001);
+        assertEquals(0.0, result.getContent().get(1).getDelivery().getUnusedCapacity(), 0.0001);
+        verify(truckDaySlotRepository, times(1)).findBySlotDateInAndTruckIdIn(anyCollection(), anyCollection());
+    }
+
+    private static Delivery newDelivery(Order order, LocalDate scheduledDate, Truck truck) {
+        Delivery delivery = new Delivery();
+        delivery.setOrder(order);
+        delivery.setScheduledDate(scheduledDate);
+        delivery.setTrucks(new ArrayList<>(List.of(truck)));
+        return delivery;
+    }
 }
@@ -0,0 +1,129 @@
+package com.sample.demo.service;
+
+import com.sample.demo.exception.UnauthorizedException;
+import com.sample.demo.model.entity.RefreshToken;
+import com.sample.demo.model.entity.User;
+import com.sample.demo.repository.RefreshTokenRepository;
+import com.sample.demo.repository.UserRepository;
+import com.sample.demo.security.JwtUtils;
+import com.sample.demo.security.TokenRevocationList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefreshTokenServiceTest {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TokenRevocationList revocationList;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.findByUsername("client1").orElseThrow();
+    }
+
+    @Test
+    void testRotate_ShouldIssueNextTokenInSameSession_AndUseUpPresentedOne() {
+        // Given: A fresh session
+        RefreshTokenService.TokenPair login = refreshTokenService.startSession(user);
+
+        // When: The refresh token is rotated
+        RefreshTokenService.TokenPair rotated = refreshTokenService.rotate(login.refreshToken());
+
+        // Then: A new pair is issued in the same session
+        assertNotEquals(login.refreshToken(), rotated.refreshToken());
+        assertEquals(sessionOf(login.refreshToken()), sessionOf(rotated.refreshToken()));
+        assertFalse(revocationList.isRevoked(sessionOf(login.refreshToken())));
+    }
+
+    @Test
+    void testRotate_ShouldRevokeWholeSession_WhenTokenIsReused() {
+        // Given: A session whose first refresh token has been rotated once
+        RefreshTokenService.TokenPair login = refreshTokenService.startSession(user);
+        RefreshTokenService.TokenPair rotated = refreshTokenService.rotate(login.refreshToken());
+
+        // When: The used token is presented again
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(login.refreshToken()));
+
+        // Then: The session is revoked, so its current refresh token is rejected too
+        assertTrue(revocationList.isRevoked(sessionOf(login.refreshToken())));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(rotated.refreshToken()));
+    }
+
+    @Test
+    void testLogout_ShouldRevokeSession_AndRejectItsRefreshToken() {
+        // Given: A fresh session
+        RefreshTokenService.TokenPair login = refreshTokenService.startSession(user);
+
+        // When: The user logs out
+        refreshTokenService.logout(login.refreshToken());
+
+        // Then: The session is revoked and the token can no longer be rotated
+        assertTrue(revocationList.isRevoked(sessionOf(login.refreshToken())));
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate(login.refreshToken()));
+    }
+
+    @Test
+    void testRotate_ShouldReject_WhenTokenIsMalformed() {
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("not-a-token"));
+    }
+
+    @Test
+    void testPurgeStaleTokens_ShouldDeleteExpiredAndLongUsed_AndKeepLiveAndRevoked() {
+        // Given: Tokens in every state
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime beforeAccessExpiry = now.minusNanos(jwtUtils.getExpiration() * 1_000_000).minusHours(1);
+        RefreshToken expired = save(now.minusMinutes(1), null, null);
+        RefreshToken longUsed = save(now.plusDays(1), beforeAccessExpiry, null);
+        RefreshToken recentlyUsed = save(now.plusDays(1), now.minusMinutes(1), null);
+        RefreshToken revoked = save(now.plusDays(1), beforeAccessExpiry, now.minusMinutes(1));
+        RefreshToken live = save(now.plusDays(1), null, null);
+
+        // When: Purging
+        refreshTokenService.purgeStaleTokens();
+
+        // Then: Only tokens nothing needs any more are gone
+        assertFalse(refreshTokenRepository.existsById(expired.getId()));
+        assertFalse(refreshTokenRepository.existsById(longUsed.getId()));
+        assertTrue(refreshTokenRepository.existsById(recentlyUsed.getId()));
+        assertTrue(refreshTokenRepository.existsById(revoked.getId()));
+        assertTrue(refreshTokenRepository.existsById(live.getId()));
+    }
+
+    private RefreshToken save(LocalDateTime expiresAt, LocalDateTime usedAt, LocalDateTime revokedAt) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenId(UUID.randomUUID().toString());
+        token.setSessionId(UUID.randomUUID().toString());
+        token.setUser(user);
+        token.setExpiresAt(expiresAt);
+        token.setUsedAt(usedAt);
+        token.setRevokedAt(revokedAt);
+        return refreshTokenRepository.save(token);
+    }
+
+    private String sessionOf(String refreshToken) {
+        return jwtUtils.parseClaims(refreshToken).get(JwtUtils.SESSION_CLAIM, String.class);
+    }
+}
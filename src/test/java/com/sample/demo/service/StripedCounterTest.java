@@ -0,0 +1,52 @@
+package com.sample.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedCounterTest {
+
+    @Test
+    void tryTake_TakesAcrossStripesOrNothing() {
+        StripedCounter counter = new StripedCounter(4);
+        counter.add(10);
+
+        assertTrue(counter.tryTake(7));
+        assertFalse(counter.tryTake(4));
+        assertEquals(3, counter.sum());
+    }
+
+    @Test
+    void tryTake_NeverHandsOutMoreThanWasAdded() throws Exception {
+        StripedCounter counter = new StripedCounter(8);
+        counter.add(10_000);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Integer>> takers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            takers.add(executor.submit(() -> {
+                int taken = 0;
+                for (int i = 0; i < 5_000; i++) {
+                    if (counter.tryTake(3)) {
+                        taken += 3;
+                    }
+                }
+                return taken;
+            }));
+        }
+        int taken = 0;
+        for (Future<Integer> taker : takers) {
+            taken += taker.get();
+        }
+        executor.shutdown();
+
+        assertTrue(taken <= 10_000);
+        assertEquals(10_000 - taken, counter.sum());
+    }
+}
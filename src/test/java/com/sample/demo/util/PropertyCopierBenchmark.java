@@ -0,0 +1,80 @@
+package com.sample.demo.util;
+
+import com.sample.demo.dto.item.PatchItemRequest;
+import com.sample.demo.model.entity.Item;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link PropertyCopier} against the field-reflection copy it replaced, on the
+ * item PATCH path. Not part of the test suite; run it with
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.sample.demo.util.PropertyCopierBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PropertyCopierBenchmark {
+
+    private static final PropertyCopier<PatchItemRequest, Item> COPIER = PropertyCopier.of(PatchItemRequest.class,
+            Item.class, "itemName", "quantity", "unitPrice", "packageVolume", "description", "sku");
+
+    private PatchItemRequest request;
+    private Item item;
+
+    @Setup
+    public void setUp() {
+        request = new PatchItemRequest();
+        request.setItemName("Pallet wrap");
+        request.setQuantity(42);
+        request.setUnitPrice(new BigDecimal("12.50"));
+        request.setSku("PW-001");
+        item = new Item();
+    }
+
+    @Benchmark
+    public Item reflective() {
+        reflectiveCopy(request, item);
+        return item;
+    }
+
+    @Benchmark
+    public Item precompiled() {
+        COPIER.copyNonNullProperties(request, item);
+        return item;
+    }
+
+    // The previous PatchUtil implementation, kept here as the baseline.
+    private static void reflectiveCopy(Object source, Object target) {
+        for (Field field : source.getClass().getDeclaredFields()) {
+            try {
+                field.setAccessible(true);
+                Object value = field.get(source);
+                if (value != null) {
+                    Field targetField = target.getClass().getDeclaredField(field.getName());
+                    targetField.setAccessible(true);
+                    targetField.set(target, value);
+                }
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                // skip, as the original did
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PropertyCopierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,36 @@
+package com.sample.demo.util;
+
+import com.sample.demo.dto.user.PatchUserRequest;
+import com.sample.demo.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PropertyCopierTest {
+
+    @Test
+    void copiesOnlyWhitelistedNonNullProperties() {
+        PatchUserRequest request = new PatchUserRequest();
+        request.setEmail("new@example.com");
+        request.setPassword("plain-text");
+
+        User user = new User();
+        user.setUsername("alice");
+        user.setPassword("{encoded}");
+
+        PropertyCopier.of(PatchUserRequest.class, User.class, "username", "email")
+                .copyNonNullProperties(request, user);
+
+        assertThat(user.getEmail()).isEqualTo("new@example.com");
+        assertThat(user.getUsername()).isEqualTo("alice");
+        assertThat(user.getPassword()).isEqualTo("{encoded}");
+    }
+
+    @Test
+    void rejectsUnknownProperty() {
+        assertThatThrownBy(() -> PropertyCopier.of(PatchUserRequest.class, User.class, "nickname"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("nickname");
+    }
+}